@@ -0,0 +1,272 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * LoadTest
+ *
+ * Reproducible load test for the analysis endpoints of a running backend.
+ * Generates Kotlin projects from a fixed seed, drives concurrent clients against
+ * `/api/project/upload` and `/api/knit/analyze`, and reports latency percentiles,
+ * throughput, status codes and the backend's peak heap (polled from `/api/health/memory`).
+ *
+ * Run from `backend/` against a started server (Java 21 source launcher, no build needed):
+ *
+ *   java bench/LoadTest.java --clients 64 --requests 2000
+ *
+ * Options (defaults in brackets):
+ *   --url [http://localhost:8080]  --clients [32]  --requests [1000]  --warmup [50]
+ *   --projects [8] distinct generated projects  --modules [8]  --components [40] per module
+ *   --endpoint [both] upload | analyze | both  --seed [42]
+ *
+ * Start the server with -Djdk.tracePinnedThreads=short to have the JVM report any
+ * virtual thread that blocks while pinned to its carrier.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class LoadTest {
+
+    private static final Pattern HEAP_USED = Pattern.compile("\"heapUsed\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "1000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        int projectCount = Integer.parseInt(options.getOrDefault("projects", "8"));
+        int modules = Integer.parseInt(options.getOrDefault("modules", "8"));
+        int components = Integer.parseInt(options.getOrDefault("components", "40"));
+        String endpoint = options.getOrDefault("endpoint", "both");
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        Random random = new Random(seed);
+        List<byte[]> projects = new ArrayList<>();
+        List<byte[]> kotlinFiles = new ArrayList<>();
+        for (int i = 0; i < projectCount; i++) {
+            projects.add(generateProject(random, i, modules, components));
+            kotlinFiles.add(generateKotlinFile(random, i, components));
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        List<Target> targets = new ArrayList<>();
+        if (!endpoint.equals("analyze")) targets.add(new Target("upload", url + "/api/project/upload", projects, "project.zip"));
+        if (!endpoint.equals("upload")) targets.add(new Target("analyze", url + "/api/knit/analyze", kotlinFiles, "Component.kt"));
+
+        System.out.printf("Generated %d projects (%d modules x %d components, avg %d KiB zipped)%n",
+                projectCount, modules, components, projects.stream().mapToInt(p -> p.length).sum() / projectCount / 1024);
+
+        if (warmup > 0) {
+            run(client, executor, targets, Math.min(clients, warmup), warmup, seed);
+        }
+
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService heapPoller = Executors.newSingleThreadScheduledExecutor();
+        heapPoller.scheduleAtFixedRate(() -> pollHeap(client, url, peakHeap), 0, 200, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        run(client, executor, targets, clients, requests, seed + 1);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        heapPoller.shutdownNow();
+        executor.shutdown();
+
+        System.out.printf("%nclients=%d requests=%d duration=%.2fs throughput=%.1f req/s peakHeapUsed=%d MiB%n",
+                clients, requests, seconds, requests / seconds, peakHeap.get() / (1024 * 1024));
+        System.out.printf("%-8s %7s %9s %9s %9s %9s  %s%n", "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "status");
+        for (Target target : targets) {
+            target.report();
+        }
+    }
+
+    /**
+     * Sends `requests` requests from `clients` concurrent clients, spread over the targets.
+     */
+    private static void run(HttpClient client, ExecutorService executor, List<Target> targets,
+                            int clients, int requests, long seed) throws InterruptedException {
+        targets.forEach(Target::reset);
+        AtomicInteger remaining = new AtomicInteger(requests);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            Random random = new Random(seed * 31 + c);
+            executor.submit(() -> {
+                try {
+                    while (remaining.getAndDecrement() > 0) {
+                        Target target = targets.get(random.nextInt(targets.size()));
+                        target.send(client, random);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static void pollHeap(HttpClient client, String url, AtomicLong peakHeap) {
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(url + "/api/health/memory")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = HEAP_USED.matcher(response.body());
+            if (matcher.find()) peakHeap.accumulateAndGet(Long.parseLong(matcher.group(1)), Math::max);
+        } catch (IOException | InterruptedException ignored) {
+            // a missed sample only lowers the resolution of the heap peak
+        }
+    }
+
+    /**
+     * Generates a multi-module Kotlin project zip with @Provides components, DI edges between them
+     * and Gradle build files that declare libraries with differing versions.
+     */
+    private static byte[] generateProject(Random random, int index, int modules, int components) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            StringBuilder settings = new StringBuilder("rootProject.name = \"generated" + index + "\"\n");
+            for (int m = 0; m < modules; m++) {
+                settings.append("include(\":module").append(m).append("\")\n");
+            }
+            put(zip, "settings.gradle.kts", settings.toString());
+
+            for (int m = 0; m < modules; m++) {
+                put(zip, "module" + m + "/build.gradle.kts", "dependencies {\n"
+                        + "    implementation(\"com.squareup.okhttp3:okhttp:4." + (10 + random.nextInt(3)) + ".0\")\n"
+                        + "    implementation(\"com.google.code.gson:gson:2.10.1\")\n"
+                        + "}\n");
+                for (int c = 0; c < components; c++) {
+                    StringBuilder source = new StringBuilder("package generated.module" + m + "\n\n");
+                    source.append("@Provides class Component").append(m).append('_').append(c).append("(val id: Int) {\n");
+                    for (int d = 0; d < 3; d++) {
+                        source.append("    val Component").append(random.nextInt(modules)).append('_')
+                                .append(random.nextInt(components)).append(" by di\n");
+                    }
+                    source.append("}\n");
+                    put(zip, "module" + m + "/src/main/kotlin/Component" + m + "_" + c + ".kt", source.toString());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Generates a single Kotlin file for the single-file analysis endpoint.
+     */
+    private static byte[] generateKotlinFile(Random random, int index, int lines) {
+        StringBuilder source = new StringBuilder("@Provides class Generated" + index + "(val id: Int) {\n");
+        for (int i = 0; i < lines; i++) {
+            source.append("    val dependency").append(random.nextInt(1000)).append(" by di\n");
+        }
+        return source.append("}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * An endpoint under test with its payloads and collected measurements.
+     */
+    private static final class Target {
+
+        private static final String BOUNDARY = "knitLoadTestBoundary";
+
+        private final String name;
+        private final URI uri;
+        private final List<byte[]> payloads;
+        private final String fileName;
+        private final Queue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        private final Map<String, AtomicInteger> statuses = new ConcurrentSkipListMap<>();
+
+        private Target(String name, String url, List<byte[]> payloads, String fileName) {
+            this.name = name;
+            this.uri = URI.create(url);
+            this.payloads = payloads;
+            this.fileName = fileName;
+        }
+
+        private void reset() {
+            latenciesNanos.clear();
+            statuses.clear();
+        }
+
+        private void send(HttpClient client, Random random) {
+            byte[] payload = payloads.get(random.nextInt(payloads.size()));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .timeout(Duration.ofMinutes(5))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(payload)))
+                    .build();
+
+            long start = System.nanoTime();
+            String status;
+            try {
+                status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (IOException e) {
+                status = e.getClass().getSimpleName();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            latenciesNanos.add(System.nanoTime() - start);
+            statuses.computeIfAbsent(status, k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        private byte[] multipart(byte[] payload) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(payload.length + 256);
+            String header = "--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                    + "Content-Type: application/octet-stream\r\n\r\n";
+            body.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(payload);
+            body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            return body.toByteArray();
+        }
+
+        private void report() {
+            long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (sorted.length == 0) {
+                System.out.printf("%-8s %7d%n", name, 0);
+                return;
+            }
+            System.out.printf("%-8s %7d %9.1f %9.1f %9.1f %9.1f  %s%n", name, sorted.length,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1e6, statuses);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+    }
+}
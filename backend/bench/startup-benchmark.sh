@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+#
+# startup-benchmark.sh
+#
+# Measures backend startup as seen by a CI analysis job:
+# - time to first successful GET /api/health
+# - time to first completed analysis (POST /api/project/upload of a small generated project)
+#
+# Usage:
+#   ./bench/startup-benchmark.sh [plain|fast-start] [runs]
+#
+#   plain       runs target/backend-0.0.1-SNAPSHOT.jar   (build with `mvn package`)
+#   fast-start  runs target/cds/backend-0.0.1-SNAPSHOT.jar with the CDS archive and AOT
+#               initialization (build with `mvn -Pfast-start package`)
+#
+# Portions of this file may have been assisted by GitHub Copilot.
+# All code has been reviewed and manually verified by the author.
+
+set -euo pipefail
+
+MODE="${1:-plain}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+BASE_URL="http://localhost:${PORT}"
+BACKEND_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR_NAME="backend-0.0.1-SNAPSHOT.jar"
+
+case "$MODE" in
+  plain)
+    JAVA_ARGS=(-jar "${BACKEND_DIR}/target/${JAR_NAME}")
+    ;;
+  fast-start)
+    JAVA_ARGS=(-XX:SharedArchiveFile="${BACKEND_DIR}/target/cds/application.jsa"
+               -Dspring.aot.enabled=true
+               -jar "${BACKEND_DIR}/target/cds/${JAR_NAME}")
+    ;;
+  *)
+    echo "Unknown mode: ${MODE} (expected plain or fast-start)" >&2
+    exit 1
+    ;;
+esac
+
+# Generate a small Kotlin project zip to use as the first analysis
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "${WORK_DIR}"' EXIT
+mkdir -p "${WORK_DIR}/project/app/src"
+cat > "${WORK_DIR}/project/app/src/Repository.kt" <<'KT'
+@Provides class Repository(val api: Api)
+KT
+cat > "${WORK_DIR}/project/app/src/Service.kt" <<'KT'
+@Provides class Service {
+    val repository by di
+}
+KT
+(cd "${WORK_DIR}/project" && jar cfM "${WORK_DIR}/project.zip" .)
+
+now_ms() { date +%s%3N; }
+
+echo "mode=${MODE} runs=${RUNS}"
+printf "%-5s %12s %16s\n" "run" "health_ms" "first_analysis_ms"
+
+for run in $(seq 1 "${RUNS}"); do
+  START=$(now_ms)
+  java "${JAVA_ARGS[@]}" --server.port="${PORT}" > "${WORK_DIR}/server.log" 2>&1 &
+  PID=$!
+
+  until curl -sf "${BASE_URL}/api/health" > /dev/null; do
+    if ! kill -0 "${PID}" 2> /dev/null; then
+      echo "Server exited during startup, see log:" >&2
+      cat "${WORK_DIR}/server.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  HEALTH=$(( $(now_ms) - START ))
+
+  curl -sf -F "file=@${WORK_DIR}/project.zip" "${BASE_URL}/api/project/upload" > /dev/null
+  ANALYSIS=$(( $(now_ms) - START ))
+
+  kill "${PID}"
+  wait "${PID}" 2> /dev/null || true
+
+  printf "%-5s %12s %16s\n" "${run}" "${HEALTH}" "${ANALYSIS}"
+done
@@ -1,8 +1,11 @@
 package com.knit_VAR;
 
+import com.knit_VAR.worker.AnalysisWorker;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.io.IOException;
+
 /**
  * Main entry point for the Knit_VAR Spring Boot application.
  *
@@ -18,10 +21,15 @@ public class Application {
 
     /**
      * Main method to launch the Spring Boot application.
+     * When started with `--worker`, runs an analysis worker for the ShardCoordinator instead.
      *
      * @param args Command-line arguments (optional)
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && AnalysisWorker.WORKER_FLAG.equals(args[0])) {
+            AnalysisWorker.run();
+            return;
+        }
         SpringApplication.run(Application.class, args);
     }
 }
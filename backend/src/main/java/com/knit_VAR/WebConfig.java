@@ -23,6 +23,7 @@ public class WebConfig {
      * - Allows requests to /api/** endpoints
      * - Permits requests from http://localhost:3000 (React frontend)
      * - Allows POST, GET, and OPTIONS HTTP methods
+     * - Exposes the ETag header so the frontend can revalidate cached graphs
      *
      * @return a configured WebMvcConfigurer instance
      */
@@ -33,7 +34,8 @@ public class WebConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/api/**")
                         .allowedOrigins("http://localhost:3000") // Please amend if your frontend runs on a different port
-                        .allowedMethods("POST", "GET", "OPTIONS");
+                        .allowedMethods("POST", "GET", "OPTIONS")
+                        .exposedHeaders("ETag");
             }
         };
     }
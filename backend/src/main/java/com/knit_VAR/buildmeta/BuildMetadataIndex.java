@@ -0,0 +1,54 @@
+package com.knit_VAR.buildmeta;
+
+import java.util.*;
+
+/**
+ * BuildMetadataIndex
+ *
+ * Index from Gradle module to the library coordinates and versions it declares.
+ *
+ * Conflicts are found in one hash-grouped pass: every declaration is bucketed by
+ * `group:artifact` and then by version, and any coordinate with more than one version bucket
+ * is a conflict. This is linear in the number of declarations, with no pairwise comparison of modules.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class BuildMetadataIndex {
+
+    /** Declared dependencies per module path */
+    private final SortedMap<String, List<DeclaredDependency>> dependenciesByModule;
+
+    public BuildMetadataIndex(SortedMap<String, List<DeclaredDependency>> dependenciesByModule) {
+        this.dependenciesByModule = dependenciesByModule;
+    }
+
+    /** Returns the declared dependencies per module path */
+    public SortedMap<String, List<DeclaredDependency>> getDependenciesByModule() {
+        return dependenciesByModule;
+    }
+
+    /**
+     * Finds libraries declared with different versions.
+     *
+     * @return conflicts ordered by coordinate
+     */
+    public List<VersionConflict> findConflicts() {
+        Map<String, SortedMap<String, Set<String>>> versionsByCoordinate = new HashMap<>();
+        for (List<DeclaredDependency> dependencies : dependenciesByModule.values()) {
+            for (DeclaredDependency dependency : dependencies) {
+                versionsByCoordinate
+                        .computeIfAbsent(dependency.coordinate(), k -> new TreeMap<>())
+                        .computeIfAbsent(dependency.version(), k -> new TreeSet<>())
+                        .add(dependency.module());
+            }
+        }
+
+        List<VersionConflict> conflicts = new ArrayList<>();
+        versionsByCoordinate.forEach((coordinate, modulesByVersion) -> {
+            if (modulesByVersion.size() > 1) conflicts.add(new VersionConflict(coordinate, modulesByVersion));
+        });
+        conflicts.sort(Comparator.comparing(VersionConflict::coordinate));
+        return conflicts;
+    }
+}
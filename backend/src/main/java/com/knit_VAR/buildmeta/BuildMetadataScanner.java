@@ -0,0 +1,182 @@
+package com.knit_VAR.buildmeta;
+
+import com.knit_VAR.service.GradleModules;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * BuildMetadataScanner
+ *
+ * Offline pass over the Gradle build metadata of an extracted project.
+ *
+ * - Reads every version catalog (`*.versions.toml`) in the project
+ * - Parses the build file of every module in parallel and collects the libraries it declares:
+ *   string notation (`"g:a:v"`), map notation (`group: "g", name: "a", version: "v"`) and
+ *   catalog accessors (`libs.some.library`, `libs.bundles.some.bundle`)
+ * - Builds a BuildMetadataIndex from module path to declared coordinates and versions
+ *
+ * Versions built from variables (e.g. `"g:a:$version"`) are not evaluated and are skipped,
+ * so they never produce false conflicts.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class BuildMetadataScanner {
+
+    /** `configuration("group:artifact:version")` or `configuration 'group:artifact:version'` */
+    private static final Pattern STRING_NOTATION = Pattern.compile(
+            "\\b([A-Za-z]+)\\s*\\(?\\s*(?:platform\\s*\\(\\s*|enforcedPlatform\\s*\\(\\s*)?[\"']([^\"'\\s:]+):([^\"'\\s:]+):([^\"'\\s:@]+)(?:@[^\"']*)?[\"']");
+
+    /** `configuration group: 'g', name: 'a', version: 'v'` or the Kotlin DSL equivalent with `=` */
+    private static final Pattern MAP_NOTATION = Pattern.compile(
+            "\\b([A-Za-z]+)\\s*\\(?\\s*group\\s*[:=]\\s*[\"']([^\"']+)[\"']\\s*,\\s*name\\s*[:=]\\s*[\"']([^\"']+)[\"']\\s*,\\s*version\\s*[:=]\\s*[\"']([^\"']+)[\"']");
+
+    /** `libs.some.alias`, excluding `libs.versions` and `libs.plugins` */
+    private static final String ACCESSOR = "\\b%s\\.(?!versions\\b|plugins\\b)([A-Za-z0-9_]+(?:\\.[A-Za-z0-9_]+)*)";
+
+    /** Dependency configurations whose declarations are indexed */
+    private static final Pattern CONFIGURATION = Pattern.compile(
+            "(?i).*(implementation|api|compileonly|runtimeonly|kapt|ksp|annotationprocessor|classpath|platform)");
+
+    private BuildMetadataScanner() {
+    }
+
+    /**
+     * Scans the build metadata of a project.
+     *
+     * @param projectDir root of the extracted project
+     * @return the index of declared dependencies per module
+     * @throws IOException if the project cannot be walked or a file cannot be read
+     */
+    public static BuildMetadataIndex scan(Path projectDir) throws IOException {
+        List<VersionCatalog> catalogs = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(projectDir)) {
+            for (Path path : (Iterable<Path>) paths.filter(p -> p.getFileName().toString().endsWith(".versions.toml"))::iterator) {
+                catalogs.add(VersionCatalog.read(path));
+            }
+        }
+        List<Pattern> accessors = catalogs.stream()
+                .map(catalog -> Pattern.compile(String.format(ACCESSOR, Pattern.quote(catalog.getName()))))
+                .toList();
+
+        SortedMap<String, Path> buildFiles = GradleModules.buildFiles(projectDir);
+        try {
+            Map<String, List<DeclaredDependency>> parsed = buildFiles.entrySet().parallelStream()
+                    .collect(Collectors.toMap(Map.Entry::getKey,
+                            entry -> parseBuildFile(entry.getKey(), entry.getValue(), catalogs, accessors)));
+            return new BuildMetadataIndex(new TreeMap<>(parsed));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Collects the versioned library declarations of one build file.
+     */
+    private static List<DeclaredDependency> parseBuildFile(String module, Path buildFile,
+                                                           List<VersionCatalog> catalogs, List<Pattern> accessors) {
+        String content;
+        try {
+            content = stripComments(Files.readString(buildFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<DeclaredDependency> dependencies = new ArrayList<>();
+
+        Matcher string = STRING_NOTATION.matcher(content);
+        while (string.find()) {
+            if (isConfiguration(string.group(1))) {
+                add(dependencies, module, string.group(2) + ":" + string.group(3), string.group(4));
+            }
+        }
+
+        Matcher map = MAP_NOTATION.matcher(content);
+        while (map.find()) {
+            if (isConfiguration(map.group(1))) {
+                add(dependencies, module, map.group(2) + ":" + map.group(3), map.group(4));
+            }
+        }
+
+        for (int i = 0; i < catalogs.size(); i++) {
+            Matcher accessor = accessors.get(i).matcher(content);
+            while (accessor.find()) {
+                String path = accessor.group(1);
+                if (path.endsWith(".get")) path = path.substring(0, path.length() - ".get".length());
+                for (String[] library : catalogs.get(i).resolve(path)) {
+                    add(dependencies, module, library[0], library[1]);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private static void add(List<DeclaredDependency> dependencies, String module, String coordinate, String version) {
+        if (version.contains("$")) return;
+        dependencies.add(new DeclaredDependency(module, coordinate, version));
+    }
+
+    private static boolean isConfiguration(String name) {
+        return CONFIGURATION.matcher(name).matches();
+    }
+
+    /**
+     * Removes line and block comments so commented-out declarations are not indexed.
+     *
+     * String literals are copied unchanged, so `/*` or `//` inside a string (an exclude glob or
+     * a repository URL) never opens a comment. Single, double and triple quoted strings are
+     * recognized; backslash escapes are honored outside triple quotes. Line breaks inside block
+     * comments are kept.
+     */
+    private static String stripComments(String content) {
+        StringBuilder stripped = new StringBuilder(content.length());
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+            if (c == '/' && i + 1 < length && content.charAt(i + 1) == '/') {
+                while (i < length && content.charAt(i) != '\n') i++;
+            } else if (c == '/' && i + 1 < length && content.charAt(i + 1) == '*') {
+                int end = content.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                for (int j = i; j < end; j++) {
+                    if (content.charAt(j) == '\n') stripped.append('\n');
+                }
+                stripped.append(' ');
+                i = end;
+            } else if (c == '"' || c == '\'') {
+                int end = endOfString(content, i);
+                stripped.append(content, i, end);
+                i = end;
+            } else {
+                stripped.append(c);
+                i++;
+            }
+        }
+        return stripped.toString();
+    }
+
+    /** Returns the index after the string literal starting at `start`, or the end of the content */
+    private static int endOfString(String content, int start) {
+        char quote = content.charAt(start);
+        String triple = String.valueOf(quote).repeat(3);
+        if (content.startsWith(triple, start)) {
+            int end = content.indexOf(triple, start + 3);
+            return end < 0 ? content.length() : end + 3;
+        }
+        for (int i = start + 1; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\\') i++;
+            else if (c == quote || c == '\n') return i + 1;
+        }
+        return content.length();
+    }
+}
@@ -0,0 +1,18 @@
+package com.knit_VAR.buildmeta;
+
+/**
+ * DeclaredDependency
+ *
+ * An external library declared with an explicit version in a Gradle build file,
+ * either directly or through a version catalog alias.
+ *
+ * Fields:
+ * - `module`: Gradle module path declaring the dependency
+ * - `coordinate`: `group:artifact` of the library
+ * - `version`: the declared version
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record DeclaredDependency(String module, String coordinate, String version) {
+}
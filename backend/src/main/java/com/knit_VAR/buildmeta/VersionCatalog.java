@@ -0,0 +1,207 @@
+package com.knit_VAR.buildmeta;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * VersionCatalog
+ *
+ * Minimal reader for Gradle version catalogs (`libs.versions.toml`).
+ * Resolves library aliases and bundles to `group:artifact` coordinates with a version.
+ *
+ * Supported forms:
+ * - `[versions]`: `name = "1.0"` and rich versions `name = { strictly/require/prefer = "1.0" }`
+ * - `[libraries]`: `"g:a:v"` strings and inline tables with `module` or `group`/`name`,
+ *   and `version`, `version.ref` or a rich `version = { ... }`
+ * - `[bundles]`: arrays of library aliases, possibly spanning several lines
+ *
+ * Libraries without a version (e.g. managed by a platform) are ignored.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+final class VersionCatalog {
+
+    private static final Pattern SECTION = Pattern.compile("^\\[\\s*([A-Za-z0-9_.-]+)\\s*]$");
+    private static final Pattern ENTRY = Pattern.compile("^\"?([A-Za-z0-9_.-]+)\"?\\s*=\\s*(.+)$");
+    private static final Pattern STRING = Pattern.compile("^\"([^\"]*)\"$");
+    private static final Pattern MODULE = Pattern.compile("\\bmodule\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern GROUP = Pattern.compile("\\bgroup\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern NAME = Pattern.compile("\\bname\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern VERSION = Pattern.compile("\\bversion\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern VERSION_REF = Pattern.compile("\\bversion\\.ref\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern RICH_VERSION = Pattern.compile("\\bversion\\s*=\\s*\\{([^}]*)}");
+    private static final Pattern RICH_VERSION_REF = Pattern.compile("\\bref\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern RICH_VERSION_VALUE = Pattern.compile("\\b(strictly|require|prefer)\\s*=\\s*\"([^\"]+)\"");
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]+)\"");
+
+    /** Catalog name as used in build files, e.g. `libs` */
+    private final String name;
+
+    /** Resolved libraries by normalized alias: [coordinate, version] */
+    private final Map<String, String[]> libraries = new HashMap<>();
+
+    /** Library aliases by normalized bundle name */
+    private final Map<String, List<String>> bundles = new HashMap<>();
+
+    private VersionCatalog(String name) {
+        this.name = name;
+    }
+
+    /** Returns the catalog name as used in build files */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Reads a catalog file. The catalog name is the file name without `.versions.toml`.
+     */
+    static VersionCatalog read(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        VersionCatalog catalog = new VersionCatalog(fileName.substring(0, fileName.length() - ".versions.toml".length()));
+
+        Map<String, String> versions = new HashMap<>();
+        Map<String, String> libraryValues = new LinkedHashMap<>();
+        String section = "";
+        StringBuilder pending = null;
+
+        for (String rawLine : Files.readAllLines(file)) {
+            String line = stripComment(rawLine).trim();
+            if (line.isEmpty()) continue;
+
+            // Continue a multi-line array until its brackets are balanced
+            if (pending != null) {
+                pending.append(' ').append(line);
+                if (!line.contains("]")) continue;
+                line = pending.toString();
+                pending = null;
+            }
+
+            Matcher sectionMatcher = SECTION.matcher(line);
+            if (sectionMatcher.matches()) {
+                section = sectionMatcher.group(1);
+                continue;
+            }
+
+            Matcher entry = ENTRY.matcher(line);
+            if (!entry.matches()) continue;
+            String key = entry.group(1);
+            String value = entry.group(2).trim();
+            if (value.startsWith("[") && !value.contains("]")) {
+                pending = new StringBuilder(line);
+                continue;
+            }
+
+            switch (section) {
+                case "versions" -> {
+                    String version = stringValue(value);
+                    if (version == null) version = richVersion(value);
+                    if (version != null) versions.put(key, version);
+                }
+                case "libraries" -> libraryValues.put(key, value);
+                case "bundles" -> {
+                    List<String> aliases = new ArrayList<>();
+                    Matcher quoted = QUOTED.matcher(value);
+                    while (quoted.find()) aliases.add(normalize(quoted.group(1)));
+                    catalog.bundles.put(normalize(key), aliases);
+                }
+                default -> {
+                    // plugins and unknown sections are not needed for library versions
+                }
+            }
+        }
+
+        libraryValues.forEach((alias, value) -> {
+            String[] library = parseLibrary(value, versions);
+            if (library != null) catalog.libraries.put(normalize(alias), library);
+        });
+        return catalog;
+    }
+
+    /**
+     * Resolves a catalog accessor (the part after `libs.`) to its libraries.
+     *
+     * @param accessor e.g. `androidx.core.ktx` or `bundles.compose`
+     * @return [coordinate, version] pairs, empty if the accessor is unknown or unversioned
+     */
+    List<String[]> resolve(String accessor) {
+        String normalized = normalize(accessor);
+        if (normalized.startsWith("bundles.")) {
+            List<String[]> resolved = new ArrayList<>();
+            for (String alias : bundles.getOrDefault(normalized.substring("bundles.".length()), List.of())) {
+                String[] library = libraries.get(alias);
+                if (library != null) resolved.add(library);
+            }
+            return resolved;
+        }
+        String[] library = libraries.get(normalized);
+        return library == null ? List.of() : List.<String[]>of(library);
+    }
+
+    /**
+     * Parses a library value into [coordinate, version], or null if it has no resolvable version.
+     */
+    private static String[] parseLibrary(String value, Map<String, String> versions) {
+        String notation = stringValue(value);
+        if (notation != null) {
+            String[] parts = notation.split(":");
+            return parts.length >= 3 ? new String[]{parts[0] + ":" + parts[1], parts[2]} : null;
+        }
+
+        String coordinate;
+        Matcher module = MODULE.matcher(value);
+        if (module.find()) {
+            coordinate = module.group(1);
+        } else {
+            Matcher group = GROUP.matcher(value);
+            Matcher name = NAME.matcher(value);
+            if (!group.find() || !name.find()) return null;
+            coordinate = group.group(1) + ":" + name.group(1);
+        }
+
+        String version = null;
+        Matcher versionRef = VERSION_REF.matcher(value);
+        Matcher plainVersion = VERSION.matcher(value);
+        Matcher richVersion = RICH_VERSION.matcher(value);
+        if (versionRef.find()) {
+            version = versions.get(versionRef.group(1));
+        } else if (plainVersion.find()) {
+            version = plainVersion.group(1);
+        } else if (richVersion.find()) {
+            Matcher ref = RICH_VERSION_REF.matcher(richVersion.group(1));
+            version = ref.find() ? versions.get(ref.group(1)) : richVersion("{" + richVersion.group(1) + "}");
+        }
+        return version == null ? null : new String[]{coordinate, version};
+    }
+
+    /** Returns the first strictly/require/prefer value of a rich version table */
+    private static String richVersion(String value) {
+        Matcher matcher = RICH_VERSION_VALUE.matcher(value);
+        return matcher.find() ? matcher.group(2) : null;
+    }
+
+    private static String stringValue(String value) {
+        Matcher matcher = STRING.matcher(value);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /** Aliases and accessors compare equal regardless of `-`, `_` and `.` separators and case */
+    static String normalize(String alias) {
+        return alias.replace('-', '.').replace('_', '.').toLowerCase(Locale.ROOT);
+    }
+
+    /** Removes a `#` comment that is not inside a string */
+    private static String stripComment(String line) {
+        boolean inString = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') inString = !inString;
+            else if (c == '#' && !inString) return line.substring(0, i);
+        }
+        return line;
+    }
+}
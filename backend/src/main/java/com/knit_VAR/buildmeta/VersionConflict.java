@@ -0,0 +1,35 @@
+package com.knit_VAR.buildmeta;
+
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * VersionConflict
+ *
+ * A library declared with more than one version across the modules of a project.
+ *
+ * Fields:
+ * - `coordinate`: `group:artifact` of the library
+ * - `modulesByVersion`: the modules declaring each version
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record VersionConflict(String coordinate, SortedMap<String, Set<String>> modulesByVersion) {
+
+    /** Returns every module involved in the conflict */
+    public Set<String> modules() {
+        Set<String> modules = new TreeSet<>();
+        modulesByVersion.values().forEach(modules::addAll);
+        return modules;
+    }
+
+    /** Returns a readable description, e.g. `g:a declared as 1.0 (:app), 2.0 (:lib)` */
+    public String describe() {
+        return coordinate + " declared as " + modulesByVersion.entrySet().stream()
+                .map(entry -> entry.getKey() + " (" + String.join(", ", entry.getValue()) + ")")
+                .collect(Collectors.joining(", "));
+    }
+}
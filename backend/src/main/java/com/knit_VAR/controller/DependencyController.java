@@ -0,0 +1,175 @@
+package com.knit_VAR.controller;
+
+import com.knit_VAR.model.AnalysisSnapshot;
+import com.knit_VAR.service.DependencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DependencyController
+ *
+ * Handles API requests for zipped Kotlin projects analyzed by the DependencyService.
+ * Provides endpoints for uploading a project and fetching its dependency graph.
+ *
+ * Graph responses are served from the immutable AnalysisSnapshot of the analysis:
+ * - every response carries the snapshot's content hash as a strong ETag, so a matching
+ *   If-None-Match is answered with 304 Not Modified and no body
+ * - clients that accept gzip get the precompressed body stored with the snapshot, under its own
+ *   ETag (`"<hash>-gzip"`); If-None-Match accepts either ETag of the snapshot
+ * - snapshots addressed by hash never change and are marked immutable for caches
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@RestController
+@RequestMapping("/api/project")
+public class DependencyController {
+
+    /** Cache policy for the latest graph: always revalidate, which is a cheap 304 when unchanged */
+    private static final CacheControl LATEST_CACHE_CONTROL = CacheControl.noCache();
+
+    /** Cache policy for graphs addressed by content hash: they never change */
+    private static final CacheControl SNAPSHOT_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    /** Injected lazily so the analysis bean is only created on the first request */
+    @Lazy
+    @Autowired
+    private DependencyService dependencyService;
+
+    /**
+     * POST /api/project/upload
+     *
+     * Accepts a zipped Kotlin project as multipart/form-data and analyzes it.
+     * Returns the content hash of the resulting snapshot along with basic graph sizes.
+     *
+     * @param file The uploaded project zip
+     * @return ResponseEntity containing the snapshot summary
+     */
+    @PostMapping("/upload")
+    public ResponseEntity<Map<String, Object>> uploadProject(@RequestParam("file") MultipartFile file) {
+        // Use the snapshot of this upload; the latest one may belong to a concurrent upload
+        AnalysisSnapshot snapshot = dependencyService.processProject(file);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("hash", snapshot.getContentHash());
+        summary.put("nodes", snapshot.getResult().nodes.size());
+        summary.put("edges", snapshot.getResult().edges.size());
+        summary.put("errors", snapshot.getResult().errors);
+        return ResponseEntity.ok().eTag(snapshot.getETag()).body(summary);
+    }
+
+    /**
+     * GET /api/project/graph
+     *
+     * Returns the dependency graph of the last uploaded project.
+     *
+     * @param acceptEncoding the Accept-Encoding request header, if any
+     * @param ifNoneMatch the If-None-Match request header, if any
+     * @return ResponseEntity containing the serialized graph, or 404 if nothing was uploaded yet
+     */
+    @GetMapping("/graph")
+    public ResponseEntity<byte[]> getLatestGraph(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return serve(dependencyService.getSnapshot(), LATEST_CACHE_CONTROL, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * GET /api/project/graph/{hash}
+     *
+     * Returns the dependency graph of a recent snapshot by its content hash.
+     *
+     * @param hash the content hash returned by the upload endpoint
+     * @param acceptEncoding the Accept-Encoding request header, if any
+     * @param ifNoneMatch the If-None-Match request header, if any
+     * @return ResponseEntity containing the serialized graph, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/graph/{hash}")
+    public ResponseEntity<byte[]> getGraphByHash(
+            @PathVariable String hash,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return serve(dependencyService.getSnapshot(hash), SNAPSHOT_CACHE_CONTROL, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * Builds the response for a snapshot. The identity and gzip bodies are different representations
+     * and carry different strong ETags; If-None-Match is compared only with the ETag of the
+     * representation selected by Accept-Encoding, so a 304 always validates what the client stored.
+     */
+    private ResponseEntity<byte[]> serve(AnalysisSnapshot snapshot, CacheControl cacheControl,
+                                         String acceptEncoding, String ifNoneMatch) {
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = gzip ? snapshot.getGzipETag() : snapshot.getETag();
+        if (isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+    /**
+     * Returns true if If-None-Match lists `*` or the ETag of the selected representation.
+     * Weak tags match too, as If-None-Match uses the weak comparison (RFC 9110).
+     */
+    private static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) return true;
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    /** Returns true if the Accept-Encoding header allows gzip */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,149 @@
+package com.knit_VAR.controller;
+
+import com.knit_VAR.export.GraphExporter;
+import com.knit_VAR.model.AnalysisSnapshot;
+import com.knit_VAR.service.DependencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * ExportController
+ *
+ * Handles API requests for downloading the dependency graph of an analyzed project
+ * as CSV, JSON or SVG.
+ *
+ * Exports are rendered on the server from the stored AnalysisSnapshot, so large graphs are
+ * never assembled in the browser. CSV and SVG are streamed while GraphExporter renders them
+ * from the snapshot's result maps; the JSON export is the serialized body the snapshot already
+ * keeps for the graph endpoints. No export adds a full document to the heap, but the snapshot
+ * itself is retained (see `knit.snapshot.cache-bytes`).
+ *
+ * Every endpoint exports the latest snapshot, or a recent snapshot when its content hash is
+ * given as `hash`. Responses carry the snapshot's ETag and a matching If-None-Match is answered
+ * with 304 before anything is rendered.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@RestController
+@RequestMapping("/api/project/export")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType IMAGE_SVG = MediaType.parseMediaType("image/svg+xml;charset=UTF-8");
+
+    /** Injected lazily so the analysis bean is only created on the first request */
+    @Lazy
+    @Autowired
+    private DependencyService dependencyService;
+
+    @Autowired
+    private GraphExporter graphExporter;
+
+    /**
+     * GET /api/project/export/csv/nodes
+     *
+     * @param hash content hash of the snapshot to export (optional, defaults to the latest)
+     * @param request the current request, used for the If-None-Match check
+     * @return ResponseEntity streaming the nodes as CSV, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/csv/nodes")
+    public ResponseEntity<StreamingResponseBody> exportNodesCsv(
+            @RequestParam(value = "hash", required = false) String hash, WebRequest request) {
+        return export(hash, request, TEXT_CSV, "nodes.csv",
+                (snapshot, out) -> graphExporter.writeNodesCsv(snapshot.getResult(), out));
+    }
+
+    /**
+     * GET /api/project/export/csv/edges
+     *
+     * @param hash content hash of the snapshot to export (optional, defaults to the latest)
+     * @param request the current request, used for the If-None-Match check
+     * @return ResponseEntity streaming the edges as CSV, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/csv/edges")
+    public ResponseEntity<StreamingResponseBody> exportEdgesCsv(
+            @RequestParam(value = "hash", required = false) String hash, WebRequest request) {
+        return export(hash, request, TEXT_CSV, "edges.csv",
+                (snapshot, out) -> graphExporter.writeEdgesCsv(snapshot.getResult(), out));
+    }
+
+    /**
+     * GET /api/project/export/csv/issues
+     *
+     * @param hash content hash of the snapshot to export (optional, defaults to the latest)
+     * @param request the current request, used for the If-None-Match check
+     * @return ResponseEntity streaming errors, issues and suggestions as CSV, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/csv/issues")
+    public ResponseEntity<StreamingResponseBody> exportIssuesCsv(
+            @RequestParam(value = "hash", required = false) String hash, WebRequest request) {
+        return export(hash, request, TEXT_CSV, "issues.csv",
+                (snapshot, out) -> graphExporter.writeIssuesCsv(snapshot.getResult(), out));
+    }
+
+    /**
+     * GET /api/project/export/json
+     *
+     * @param hash content hash of the snapshot to export (optional, defaults to the latest)
+     * @param request the current request, used for the If-None-Match check
+     * @return ResponseEntity streaming the serialized graph held by the snapshot, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/json")
+    public ResponseEntity<StreamingResponseBody> exportJson(
+            @RequestParam(value = "hash", required = false) String hash, WebRequest request) {
+        return export(hash, request, MediaType.APPLICATION_JSON, "dependency-graph.json",
+                (snapshot, out) -> out.write(snapshot.getJson()));
+    }
+
+    /**
+     * GET /api/project/export/svg
+     *
+     * @param hash content hash of the snapshot to export (optional, defaults to the latest)
+     * @param request the current request, used for the If-None-Match check
+     * @return ResponseEntity streaming the rendered graph as SVG, or 404 if the snapshot is unknown
+     */
+    @GetMapping("/svg")
+    public ResponseEntity<StreamingResponseBody> exportSvg(
+            @RequestParam(value = "hash", required = false) String hash, WebRequest request) {
+        return export(hash, request, IMAGE_SVG, "dependency-graph.svg",
+                (snapshot, out) -> graphExporter.writeSvg(snapshot.getResult(), out));
+    }
+
+    /**
+     * Builds a download response whose body is written by the exporter after the handler returns.
+     * The snapshot is resolved up front, so a concurrent upload cannot change what is exported.
+     * StreamingResponseBody responses skip Spring's ETag check, so it is done here: on a match
+     * the request is answered with 304 and null tells Spring the response is complete.
+     */
+    private ResponseEntity<StreamingResponseBody> export(String hash, WebRequest request, MediaType contentType,
+                                                         String fileName, Export export) {
+        AnalysisSnapshot snapshot = hash == null ? dependencyService.getSnapshot() : dependencyService.getSnapshot(hash);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(snapshot.getETag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> export.write(snapshot, out));
+    }
+
+    /** Writes one export format of a snapshot */
+    @FunctionalInterface
+    private interface Export {
+        void write(AnalysisSnapshot snapshot, OutputStream out) throws IOException;
+    }
+}
@@ -3,10 +3,16 @@ package com.knit_VAR.controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * HealthCheckController
  *
- * Provides a simple endpoint for health checking the application.
+ * Provides a simple endpoint for health checking the application,
+ * and a heap usage endpoint used by the load-test harness.
  *
  * Portions of this file may have been assisted by GitHub Copilot.
  * All code has been reviewed and manually verified by the author.
@@ -26,4 +32,22 @@ public class HealthCheckController {
     public String healthCheck() {
         return "OK";
     }
+
+    /**
+     * GET /api/health/memory
+     *
+     * Returns the current heap usage of the backend JVM in bytes.
+     * Polled by the load-test harness to report heap usage under concurrent traffic.
+     *
+     * @return Map with used, committed and max heap bytes
+     */
+    @GetMapping("/api/health/memory")
+    public Map<String, Long> memory() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        Map<String, Long> memory = new LinkedHashMap<>();
+        memory.put("heapUsed", heap.getUsed());
+        memory.put("heapCommitted", heap.getCommitted());
+        memory.put("heapMax", heap.getMax());
+        return memory;
+    }
 }
@@ -3,6 +3,7 @@ package com.knit_VAR.controller;
 import com.knit_VAR.model.KnitAnalysisResult;
 import com.knit_VAR.service.KnitAnalyzer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,8 @@ import org.springframework.http.ResponseEntity;
 @RequestMapping("/api/knit")
 public class KnitAnalysisController {
 
+    /** Injected lazily so the analysis bean is only created on the first request */
+    @Lazy
     @Autowired
     private KnitAnalyzer knitAnalyzer;
 
@@ -0,0 +1,39 @@
+package com.knit_VAR.controller;
+
+import com.knit_VAR.upload.AnalysisCapacityException;
+import com.knit_VAR.upload.UploadLimitExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * ResourceLimitExceptionHandler
+ *
+ * Translates rejections by the upload resource limits into HTTP responses for all controllers.
+ *
+ * - UploadLimitExceededException: 413 Content Too Large with the violated limit as body
+ * - AnalysisCapacityException: 503 Service Unavailable with a Retry-After header
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@RestControllerAdvice
+public class ResourceLimitExceptionHandler {
+
+    /** Seconds a client should wait before retrying when capacity is exhausted */
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @ExceptionHandler(UploadLimitExceededException.class)
+    public ResponseEntity<String> handleUploadLimitExceeded(UploadLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(AnalysisCapacityException.class)
+    public ResponseEntity<String> handleCapacityExhausted(AnalysisCapacityException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(e.getMessage());
+    }
+}
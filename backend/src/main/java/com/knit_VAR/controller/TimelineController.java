@@ -0,0 +1,77 @@
+package com.knit_VAR.controller;
+
+import com.knit_VAR.history.TimelineDisabledException;
+import com.knit_VAR.history.TimelineService;
+import com.knit_VAR.model.CommitMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * TimelineController
+ *
+ * Handles API requests for the dependency evolution timeline of a local git repository.
+ * The endpoint only serves repositories below `knit.timeline.repository-root` and answers
+ * 403 Forbidden while that property is not set.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@RestController
+@RequestMapping("/api/timeline")
+public class TimelineController {
+
+    /** Upper bound for the number of commits analyzed by one request */
+    private static final int MAX_COMMITS_LIMIT = 10000;
+
+    /** Injected lazily so the analysis bean is only created on the first request */
+    @Lazy
+    @Autowired
+    private TimelineService timelineService;
+
+    /**
+     * GET /api/timeline
+     *
+     * Analyzes a range of commits of a local git repository and returns the dependency
+     * graph metrics (components, edges, cycles, unused components) of every commit.
+     *
+     * @param repo path of the local git repository, relative to the configured repository root
+     * @param from exclusive start revision (optional, defaults to the root commit)
+     * @param to inclusive end revision (defaults to HEAD)
+     * @param maxCommits maximum number of most recent commits to analyze
+     * @return ResponseEntity containing metrics per commit, oldest first
+     */
+    @GetMapping
+    public ResponseEntity<List<CommitMetrics>> getTimeline(
+            @RequestParam("repo") String repo,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", defaultValue = "HEAD") String to,
+            @RequestParam(value = "maxCommits", defaultValue = "1000") int maxCommits) throws IOException {
+        if (maxCommits < 1 || maxCommits > MAX_COMMITS_LIMIT) {
+            throw new IllegalArgumentException("maxCommits must be between 1 and " + MAX_COMMITS_LIMIT);
+        }
+        return ResponseEntity.ok(timelineService.analyze(Path.of(repo), from, to, maxCommits));
+    }
+
+    /**
+     * Reports invalid repositories, revisions and parameters as 400 Bad Request.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Reports requests while the timeline is not configured as 403 Forbidden.
+     */
+    @ExceptionHandler(TimelineDisabledException.class)
+    public ResponseEntity<String> handleDisabled(TimelineDisabledException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+}
@@ -0,0 +1,249 @@
+package com.knit_VAR.export;
+
+import com.knit_VAR.dto.DependencyAnalysisResult;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphExporter
+ *
+ * Writes the dependency graph of a finished analysis as CSV or SVG.
+ *
+ * Both formats are rendered from the result maps element by element and written to the given
+ * stream through a fixed-size buffer, so the export document itself is never built in memory.
+ * The result maps are held by the AnalysisSnapshot anyway; the only per-export state is the
+ * node positions needed to draw SVG edges.
+ * - CSV: one table each for nodes, edges and issues (RFC 4180 quoting, lists joined with `;`).
+ *   Text fields starting with `=`, `+`, `-`, `@`, tab or carriage return are prefixed with `'`,
+ *   so component names are never evaluated as formulas by spreadsheets
+ * - SVG: the graph drawn at the `x`/`y` of the result nodes (the layered GraphLayout computed by
+ *   the analysis), styled like the frontend graph (severity colors, arrowheads, issue badges)
+ *
+ * JSON exports need no exporter: they are the serialized body the snapshot already holds.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@Component
+public class GraphExporter {
+
+    /** Size of the write buffer between the exporter and the response stream */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Node radius and margin around the drawing, matching the frontend graph */
+    private static final int NODE_RADIUS = 28;
+    private static final int MARGIN = 60;
+
+    private static final String EDGE_COLOR = "#00796b";
+    private static final String ISSUE_COLOR = "#e53935";
+    private static final String TEXT_COLOR = "#222";
+
+    /**
+     * Writes one row per node: id, label, module, x, y, color, issues, suggestions.
+     */
+    public void writeNodesCsv(DependencyAnalysisResult result, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        writer.write("id,label,module,x,y,color,issues,suggestions\r\n");
+        for (Map<String, Object> node : result.nodes) {
+            writeCsvRow(writer, node.get("id"), node.get("label"), node.get("module"), node.get("x"), node.get("y"),
+                    node.get("color"), joined(node.get("issues")), joined(node.get("suggestions")));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes one row per edge: id, source, target, label, thickness, issues, suggestions.
+     */
+    public void writeEdgesCsv(DependencyAnalysisResult result, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        writer.write("id,source,target,label,thickness,issues,suggestions\r\n");
+        for (Map<String, Object> edge : result.edges) {
+            writeCsvRow(writer, edge.get("id"), edge.get("source"), edge.get("target"), edge.get("label"),
+                    edge.get("thickness"), joined(edge.get("issues")), joined(edge.get("suggestions")));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes one row per finding: scope (project, node or edge), element id, kind
+     * (error, issue or suggestion) and message.
+     */
+    public void writeIssuesCsv(DependencyAnalysisResult result, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        writer.write("scope,id,kind,message\r\n");
+        for (String error : result.errors) {
+            writeCsvRow(writer, "project", "", "error", error);
+        }
+        for (String suggestion : result.suggestions) {
+            writeCsvRow(writer, "project", "", "suggestion", suggestion);
+        }
+        writeElementFindings(writer, "node", result.nodes);
+        writeElementFindings(writer, "edge", result.edges);
+        writer.flush();
+    }
+
+    /**
+     * Draws the graph as a standalone SVG document at the analysis layout coordinates.
+     * Edges are drawn first so nodes stay on top; edges to unknown nodes are skipped,
+     * as in the frontend graph.
+     */
+    public void writeSvg(DependencyAnalysisResult result, OutputStream out) throws IOException {
+        Map<String, double[]> positions = new HashMap<>(result.nodes.size() * 2);
+        double minX = 0, minY = 0, maxX = 0, maxY = 0;
+        for (Map<String, Object> node : result.nodes) {
+            double x = number(node.get("x"));
+            double y = number(node.get("y"));
+            if (positions.isEmpty()) {
+                minX = maxX = x;
+                minY = maxY = y;
+            } else {
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+            positions.put(String.valueOf(node.get("id")), new double[]{x, y});
+        }
+        minX -= MARGIN;
+        minY -= MARGIN;
+        double width = maxX + MARGIN - minX;
+        double height = maxY + MARGIN - minY;
+
+        Writer writer = writer(out);
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + coordinate(width)
+                + "\" height=\"" + coordinate(height) + "\" viewBox=\"" + coordinate(minX) + " " + coordinate(minY)
+                + " " + coordinate(width) + " " + coordinate(height) + "\" font-family=\"Segoe UI, sans-serif\">\n");
+        writer.write("<defs><marker id=\"arrowhead\" markerWidth=\"10\" markerHeight=\"7\" refX=\"10\" refY=\"3.5\" orient=\"auto\">"
+                + "<polygon points=\"0 0, 10 3.5, 0 7\" fill=\"" + EDGE_COLOR + "\"/></marker></defs>\n");
+
+        writer.write("<g class=\"edges\">\n");
+        for (Map<String, Object> edge : result.edges) {
+            double[] source = positions.get(String.valueOf(edge.get("source")));
+            double[] target = positions.get(String.valueOf(edge.get("target")));
+            if (source == null || target == null) continue;
+            boolean hasIssues = !isEmpty(edge.get("issues"));
+            writer.write("<line x1=\"" + coordinate(source[0]) + "\" y1=\"" + coordinate(source[1])
+                    + "\" x2=\"" + coordinate(target[0]) + "\" y2=\"" + coordinate(target[1])
+                    + "\" stroke=\"" + (hasIssues ? ISSUE_COLOR : EDGE_COLOR)
+                    + "\" stroke-width=\"" + coordinate(number(edge.get("thickness"))) + "\" marker-end=\"url(#arrowhead)\">");
+            writer.write("<title>");
+            writeXmlText(writer, edge.get("label"));
+            writer.write("</title></line>\n");
+        }
+        writer.write("</g>\n");
+
+        writer.write("<g class=\"nodes\" font-size=\"14\" font-weight=\"bold\" text-anchor=\"middle\">\n");
+        for (Map<String, Object> node : result.nodes) {
+            double[] position = positions.get(String.valueOf(node.get("id")));
+            String x = coordinate(position[0]);
+            String y = coordinate(position[1]);
+            writer.write("<g><circle cx=\"" + x + "\" cy=\"" + y + "\" r=\"" + NODE_RADIUS
+                    + "\" fill=\"" + nodeColor(node.get("color")) + "\" stroke=\"" + EDGE_COLOR + "\" stroke-width=\"2\"/>");
+            writer.write("<text x=\"" + x + "\" y=\"" + coordinate(position[1] + 5) + "\" fill=\"" + TEXT_COLOR + "\">");
+            writeXmlText(writer, node.get("label"));
+            writer.write("</text>");
+            if (!isEmpty(node.get("issues"))) {
+                writer.write("<circle cx=\"" + coordinate(position[0] + 22) + "\" cy=\"" + coordinate(position[1] - 22)
+                        + "\" r=\"8\" fill=\"" + ISSUE_COLOR + "\"/>");
+            }
+            writer.write("</g>\n");
+        }
+        writer.write("</g>\n</svg>\n");
+        writer.flush();
+    }
+
+    /** Writes the issues and suggestions of nodes or edges as issue rows */
+    private static void writeElementFindings(Writer writer, String scope, List<Map<String, Object>> elements) throws IOException {
+        for (Map<String, Object> element : elements) {
+            Object id = element.get("id");
+            if (element.get("issues") instanceof List<?> issues) {
+                for (Object issue : issues) writeCsvRow(writer, scope, id, "issue", issue);
+            }
+            if (element.get("suggestions") instanceof List<?> suggestions) {
+                for (Object suggestion : suggestions) writeCsvRow(writer, scope, id, "suggestion", suggestion);
+            }
+        }
+    }
+
+    /**
+     * Writes one CSV record, quoting fields that contain separators, quotes or line breaks.
+     * Text that a spreadsheet would read as a formula is prefixed with `'`; numbers are written as is.
+     */
+    private static void writeCsvRow(Writer writer, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) writer.write(',');
+            String field = fields[i] == null ? "" : String.valueOf(fields[i]);
+            if (!(fields[i] instanceof Number) && isFormula(field)) field = "'" + field;
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static boolean isFormula(String field) {
+        return !field.isEmpty() && "=+-@\t\r".indexOf(field.charAt(0)) >= 0;
+    }
+
+    /** Escapes text content for XML */
+    private static void writeXmlText(Writer writer, Object value) throws IOException {
+        String text = value == null ? "" : String.valueOf(value);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    /** Maps the analysis severity color to the fill used by the frontend graph */
+    private static String nodeColor(Object color) {
+        return switch (String.valueOf(color)) {
+            case "red" -> ISSUE_COLOR;
+            case "orange" -> "#ffa726";
+            default -> "#e0f7fa";
+        };
+    }
+
+    /** Joins a list of messages with `;`, as in the frontend CSV export */
+    private static String joined(Object list) {
+        if (!(list instanceof List<?> items)) return "";
+        StringBuilder joined = new StringBuilder();
+        for (Object item : items) {
+            if (!joined.isEmpty()) joined.append(';');
+            joined.append(item);
+        }
+        return joined.toString();
+    }
+
+    private static boolean isEmpty(Object list) {
+        return !(list instanceof List<?> items) || items.isEmpty();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    /** Formats a coordinate with one decimal, which is below a pixel and keeps the document small */
+    private static String coordinate(double value) {
+        long tenths = Math.round(value * 10);
+        return tenths % 10 == 0 ? Long.toString(tenths / 10) : Double.toString(tenths / 10.0);
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,238 @@
+package com.knit_VAR.history;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * GitRepository
+ *
+ * Read-only access to a local git repository through the `git` command line.
+ *
+ * - Lists the commits of a range, oldest first, following first parents
+ * - Lists the Kotlin blobs of a commit's tree, or only the ones that changed between two commits
+ * - Reads blob contents through a single long-lived `git cat-file --batch` process
+ *
+ * Revisions are validated and passed after `--end-of-options`, so user input can never be
+ * interpreted as a git option.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+final class GitRepository implements Closeable {
+
+    /** Allowed characters of a revision: names, hashes and ancestry suffixes like HEAD~10 */
+    private static final Pattern REVISION = Pattern.compile("[A-Za-z0-9._/~^@{}+-]+");
+
+    /** A commit in the analyzed range */
+    record Commit(String hash, long timestamp) {
+    }
+
+    /** A Kotlin file in a tree or diff; `blob` is null when the file was deleted */
+    record FileChange(String path, String blob) {
+    }
+
+    private final Path dir;
+
+    /** Lazily started `git cat-file --batch` process */
+    private Process catFile;
+    private BufferedInputStream catFileOut;
+    private OutputStream catFileIn;
+
+    private GitRepository(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Opens a repository after checking that the directory is a git work tree or git dir.
+     *
+     * @param dir path of the repository
+     * @return the opened GitRepository
+     * @throws IllegalArgumentException if the directory is not a git repository
+     */
+    static GitRepository open(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalArgumentException("Repository directory does not exist");
+        }
+        GitRepository repository = new GitRepository(dir);
+        try {
+            repository.run("rev-parse", "--git-dir");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a git repository");
+        }
+        return repository;
+    }
+
+    /**
+     * Lists the commits of a range along first parents, oldest first.
+     *
+     * @param from exclusive start revision, or null to start at the root commit
+     * @param to inclusive end revision
+     * @param maxCount maximum number of (most recent) commits to return
+     * @return commits in chronological order
+     * @throws IllegalArgumentException if a revision is invalid or does not name a commit
+     */
+    List<Commit> commits(String from, String to, int maxCount) throws IOException {
+        String range = from == null || from.isBlank() ? resolveCommit(to) : resolveCommit(from) + ".." + resolveCommit(to);
+        String output = new String(run("log", "--first-parent", "--reverse", "--max-count=" + maxCount,
+                "--format=%H %ct", "--end-of-options", range), StandardCharsets.UTF_8);
+
+        List<Commit> commits = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            if (line.isBlank()) continue;
+            String[] parts = line.trim().split(" ");
+            commits.add(new Commit(parts[0], Long.parseLong(parts[1])));
+        }
+        return commits;
+    }
+
+    /**
+     * Lists every Kotlin blob in a commit's tree.
+     */
+    List<FileChange> kotlinFiles(String commit) throws IOException {
+        List<FileChange> files = new ArrayList<>();
+        // Records: "<mode> <type> <object>\t<path>"
+        for (String record : split(run("ls-tree", "-r", "-z", "--end-of-options", revision(commit)))) {
+            int tab = record.indexOf('\t');
+            String[] meta = record.substring(0, tab).split(" ");
+            String path = record.substring(tab + 1);
+            if (meta[1].equals("blob") && path.endsWith(".kt")) {
+                files.add(new FileChange(path, meta[2]));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Lists the Kotlin files that changed between two commits.
+     */
+    List<FileChange> changedKotlinFiles(String from, String to) throws IOException {
+        List<FileChange> changes = new ArrayList<>();
+        // Records alternate ":<old mode> <new mode> <old object> <new object> <status>" and "<path>"
+        List<String> records = split(run("diff-tree", "-r", "-z", "--no-commit-id", "--no-renames",
+                "--end-of-options", revision(from), revision(to)));
+        for (int i = 0; i + 1 < records.size(); i += 2) {
+            String[] meta = records.get(i).split(" ");
+            String path = records.get(i + 1);
+            if (!path.endsWith(".kt")) continue;
+            boolean deleted = meta[4].startsWith("D");
+            changes.add(new FileChange(path, deleted ? null : meta[3]));
+        }
+        return changes;
+    }
+
+    /**
+     * Reads the contents of a blob.
+     *
+     * @param blob the blob hash
+     * @return the blob contents
+     */
+    byte[] readBlob(String blob) throws IOException {
+        if (catFile == null) {
+            catFile = new ProcessBuilder("git", "-C", dir.toString(), "cat-file", "--batch")
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            catFileOut = new BufferedInputStream(catFile.getInputStream());
+            catFileIn = catFile.getOutputStream();
+        }
+
+        catFileIn.write((revision(blob) + "\n").getBytes(StandardCharsets.UTF_8));
+        catFileIn.flush();
+
+        // Header: "<object> <type> <size>" or "<object> missing"
+        String[] header = readLine(catFileOut).split(" ");
+        if (header.length < 3) {
+            throw new IOException("Blob not found: " + blob);
+        }
+        byte[] content = catFileOut.readNBytes(Integer.parseInt(header[2]));
+        catFileOut.read(); // trailing newline
+        return content;
+    }
+
+    @Override
+    public void close() {
+        if (catFile != null) catFile.destroy();
+    }
+
+    /**
+     * Runs a git command in the repository and returns its standard output.
+     */
+    private byte[] run(String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git", "-C", dir.toString()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).start();
+
+        // Drain stderr concurrently so a chatty command cannot block on a full pipe
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        Thread stderrReader = Thread.ofVirtual().start(() -> {
+            try (InputStream err = process.getErrorStream()) {
+                err.transferTo(stderr);
+            } catch (IOException ignored) {
+                // the exit code below reports the failure
+            }
+        });
+
+        try (InputStream out = process.getInputStream()) {
+            byte[] output = out.readAllBytes();
+            int exitCode = process.waitFor();
+            stderrReader.join();
+            if (exitCode != 0) {
+                throw new IOException("git " + args[0] + " failed: " + stderr.toString(StandardCharsets.UTF_8).trim());
+            }
+            return output;
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git " + args[0], e);
+        }
+    }
+
+    /**
+     * Resolves a revision supplied by the caller to a commit hash, so that an unknown revision
+     * is reported as the caller's error rather than as a failed git command.
+     */
+    private String resolveCommit(String revision) throws IOException {
+        byte[] output;
+        try {
+            output = run("rev-parse", "--verify", "--quiet", "--end-of-options", revision(revision) + "^{commit}");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown revision: " + revision);
+        }
+        return new String(output, StandardCharsets.UTF_8).trim();
+    }
+
+    /** Validates a revision supplied by the caller */
+    private static String revision(String revision) {
+        if (revision == null || !REVISION.matcher(revision).matches() || revision.startsWith("-")) {
+            throw new IllegalArgumentException("Invalid revision: " + revision);
+        }
+        return revision;
+    }
+
+    /** Splits NUL terminated records */
+    private static List<String> split(byte[] output) {
+        List<String> records = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < output.length; i++) {
+            if (output[i] == 0) {
+                records.add(new String(output, start, i - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        return records;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        if (b == -1) throw new EOFException("git cat-file exited unexpectedly");
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
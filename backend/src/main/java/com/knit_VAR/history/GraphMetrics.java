@@ -0,0 +1,106 @@
+package com.knit_VAR.history;
+
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.service.CompactGraph;
+
+import java.util.*;
+
+/**
+ * GraphMetrics
+ *
+ * Size, cycle and unused-component metrics of a graph version, maintained incrementally as the
+ * timeline applies each commit's changed files.
+ *
+ * - Components, edges and unused components are counted per file change: every component and
+ *   edge keeps the number of files declaring it, and every node the number of distinct edges
+ *   pointing to it, so a change costs time proportional to the changed file's dependencies
+ * - Cycles depend only on the edges; they are recounted when an edge appeared or disappeared
+ *   since the last count. That recount builds a CompactGraph of all edges and runs its
+ *   iterative Tarjan pass, so commits that change dependencies still cost a full graph pass
+ *
+ * Cycles are counted as strongly connected components with more than one member
+ * (or a component depending on itself).
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+final class GraphMetrics {
+
+    /** Number of files declaring each component */
+    private final Map<String, Integer> declarations = new HashMap<>();
+
+    /** Number of files declaring each edge, by source component and target */
+    private final Map<String, Map<String, Integer>> edges = new HashMap<>();
+
+    /** Number of distinct edges pointing to each node */
+    private final Map<String, Integer> inDegree = new HashMap<>();
+
+    private int edgeCount;
+    private int unused;
+    private int cycles;
+
+    /** True if an edge appeared or disappeared since cycles were last counted */
+    private boolean edgesChanged;
+
+    /** Adds the component and dependencies declared by one file */
+    void add(ComponentScan scan) {
+        String component = scan.component();
+        if (declarations.merge(component, 1, Integer::sum) == 1 && inDegree(component) == 0) unused++;
+        Map<String, Integer> targets = edges.computeIfAbsent(component, k -> new HashMap<>());
+        for (String target : new LinkedHashSet<>(scan.dependencies())) {
+            if (targets.merge(target, 1, Integer::sum) > 1) continue;
+            edgeCount++;
+            edgesChanged = true;
+            if (inDegree.merge(target, 1, Integer::sum) == 1 && declarations.containsKey(target)) unused--;
+        }
+    }
+
+    /** Removes the component and dependencies declared by one file, as previously added */
+    void remove(ComponentScan scan) {
+        String component = scan.component();
+        Map<String, Integer> targets = edges.get(component);
+        for (String target : new LinkedHashSet<>(scan.dependencies())) {
+            if (decrement(targets, target) > 0) continue;
+            edgeCount--;
+            edgesChanged = true;
+            if (decrement(inDegree, target) == 0 && declarations.containsKey(target)) unused++;
+        }
+        if (targets != null && targets.isEmpty()) edges.remove(component);
+        if (decrement(declarations, component) == 0 && inDegree(component) == 0) unused--;
+    }
+
+    int components() {
+        return declarations.size();
+    }
+
+    int edges() {
+        return edgeCount;
+    }
+
+    int unused() {
+        return unused;
+    }
+
+    /** Returns the number of cycles, recounting them only if the edges changed */
+    int cycles() {
+        if (edgesChanged) {
+            CompactGraph.Builder builder = CompactGraph.builder();
+            edges.forEach((source, targets) -> builder.add(new ComponentScan(source, List.copyOf(targets.keySet()), null)));
+            cycles = builder.build().countCycles();
+            edgesChanged = false;
+        }
+        return cycles;
+    }
+
+    private int inDegree(String node) {
+        return inDegree.getOrDefault(node, 0);
+    }
+
+    /** Decrements a count, removing it at zero, and returns the new count */
+    private static int decrement(Map<String, Integer> counts, String key) {
+        int count = counts.get(key) - 1;
+        if (count == 0) counts.remove(key);
+        else counts.put(key, count);
+        return count;
+    }
+}
@@ -0,0 +1,302 @@
+package com.knit_VAR.history;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * PersistentMap
+ *
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ * `plus` and `minus` return a new map that shares every untouched branch with the original,
+ * so keeping one version per commit costs only the paths that changed, not a full copy.
+ *
+ * - 32-way branching on 5-bit fragments of the key's hash
+ * - Keys whose full hashes collide are kept together in a collision node
+ * - Null keys and values are not supported
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class PersistentMap<K, V> {
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** Root of the trie, null for the empty map */
+    private final TrieNode root;
+
+    /** Number of entries */
+    private final int size;
+
+    private PersistentMap(TrieNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /** Returns the empty map */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /** Returns the number of entries */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value mapped to the key.
+     *
+     * @param key the key to look up
+     * @return the value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (root == null) return null;
+        Entry entry = root.find(0, hash(key), key);
+        return entry == null ? null : (V) entry.value;
+    }
+
+    /**
+     * Returns a map with the key mapped to the value.
+     *
+     * @param key the key, not null
+     * @param value the value, not null
+     * @return the new map, or this map if the mapping is already present
+     */
+    public PersistentMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int hash = hash(key);
+        Entry entry = new Entry(hash, key, value);
+        if (root == null) {
+            return new PersistentMap<>(BitmapNode.of(0, entry), 1);
+        }
+        boolean existed = root.find(0, hash, key) != null;
+        TrieNode newRoot = root.put(0, entry);
+        return newRoot == root ? this : new PersistentMap<>(newRoot, existed ? size : size + 1);
+    }
+
+    /**
+     * Returns a map without the key.
+     *
+     * @param key the key to remove
+     * @return the new map, or this map if the key is absent
+     */
+    public PersistentMap<K, V> minus(K key) {
+        if (root == null) return this;
+        TrieNode newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Performs the action for every entry, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) root.forEach(entry -> action.accept((K) entry.key, (V) entry.value));
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /** A key/value pair stored in a trie slot */
+    private static final class Entry {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        private Entry(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private interface TrieNode {
+        Entry find(int shift, int hash, Object key);
+
+        TrieNode put(int shift, Entry entry);
+
+        /** Returns the node without the key, the same node if absent, or null if it becomes empty */
+        TrieNode remove(int shift, int hash, Object key);
+
+        void forEach(Consumer<Entry> action);
+    }
+
+    /**
+     * Inner node: a bitmap of occupied fragments and a dense array whose slots are
+     * either an Entry or a child TrieNode.
+     */
+    private static final class BitmapNode implements TrieNode {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private static BitmapNode of(int shift, Entry entry) {
+            return new BitmapNode(bit(shift, entry.hash), new Object[]{entry});
+        }
+
+        /** Builds the smallest subtree holding two entries with different keys */
+        private static TrieNode merge(int shift, Entry a, Entry b) {
+            if (shift >= Integer.SIZE) {
+                return new CollisionNode(a.hash, new Entry[]{a, b});
+            }
+            int bitA = bit(shift, a.hash);
+            int bitB = bit(shift, b.hash);
+            if (bitA == bitB) {
+                return new BitmapNode(bitA, new Object[]{merge(shift + BITS, a, b)});
+            }
+            Object[] slots = Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{a, b} : new Object[]{b, a};
+            return new BitmapNode(bitA | bitB, slots);
+        }
+
+        private static int bit(int shift, int hash) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Entry find(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) return null;
+            Object slot = slots[index(bit)];
+            if (slot instanceof TrieNode child) return child.find(shift + BITS, hash, key);
+            Entry entry = (Entry) slot;
+            return entry.key.equals(key) ? entry : null;
+        }
+
+        @Override
+        public TrieNode put(int shift, Entry entry) {
+            int bit = bit(shift, entry.hash);
+            int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, idx);
+                newSlots[idx] = entry;
+                System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+
+            Object slot = slots[idx];
+            Object replacement;
+            if (slot instanceof TrieNode child) {
+                TrieNode newChild = child.put(shift + BITS, entry);
+                if (newChild == child) return this;
+                replacement = newChild;
+            } else {
+                Entry existing = (Entry) slot;
+                if (existing.key.equals(entry.key)) {
+                    if (existing.value.equals(entry.value)) return this;
+                    replacement = entry;
+                } else {
+                    replacement = merge(shift + BITS, existing, entry);
+                }
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[idx] = replacement;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        public TrieNode remove(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) return this;
+            int idx = index(bit);
+            Object slot = slots[idx];
+
+            if (slot instanceof TrieNode child) {
+                TrieNode newChild = child.remove(shift + BITS, hash, key);
+                if (newChild == child) return this;
+                if (newChild != null) {
+                    Object[] newSlots = slots.clone();
+                    newSlots[idx] = newChild;
+                    return new BitmapNode(bitmap, newSlots);
+                }
+            } else if (!((Entry) slot).key.equals(key)) {
+                return this;
+            }
+
+            if (slots.length == 1) return null;
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, idx);
+            System.arraycopy(slots, idx + 1, newSlots, idx, slots.length - idx - 1);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+
+        @Override
+        public void forEach(Consumer<Entry> action) {
+            for (Object slot : slots) {
+                if (slot instanceof TrieNode child) child.forEach(action);
+                else action.accept((Entry) slot);
+            }
+        }
+    }
+
+    /** Leaf holding entries whose full 32-bit hashes are equal */
+    private static final class CollisionNode implements TrieNode {
+        private final int hash;
+        private final Entry[] entries;
+
+        private CollisionNode(int hash, Entry[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        public Entry find(int shift, int hash, Object key) {
+            for (Entry entry : entries) {
+                if (entry.key.equals(key)) return entry;
+            }
+            return null;
+        }
+
+        @Override
+        public TrieNode put(int shift, Entry entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(entry.key)) {
+                    if (entries[i].value.equals(entry.value)) return this;
+                    Entry[] newEntries = entries.clone();
+                    newEntries[i] = entry;
+                    return new CollisionNode(hash, newEntries);
+                }
+            }
+            Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+            newEntries[entries.length] = entry;
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        public TrieNode remove(int shift, int hash, Object key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(key)) {
+                    if (entries.length == 1) return null;
+                    Entry[] newEntries = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, newEntries, 0, i);
+                    System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+                    return new CollisionNode(this.hash, newEntries);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void forEach(Consumer<Entry> action) {
+            for (Entry entry : entries) action.accept(entry);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.knit_VAR.history;
+
+/**
+ * TimelineDisabledException
+ *
+ * Thrown when the timeline is requested while no `knit.timeline.repository-root` is configured.
+ * Answered with 403 Forbidden.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class TimelineDisabledException extends RuntimeException {
+
+    public TimelineDisabledException(String message) {
+        super(message);
+    }
+}
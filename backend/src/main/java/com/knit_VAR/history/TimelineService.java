@@ -0,0 +1,156 @@
+package com.knit_VAR.history;
+
+import com.knit_VAR.model.CommitMetrics;
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.service.GradleModules;
+import com.knit_VAR.service.KotlinSourceScanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * TimelineService
+ *
+ * Analyzes how the dependency graph of a local git repository evolves over a range of commits.
+ *
+ * - The first commit's Kotlin files are listed from its tree; for every following commit only
+ *   the files changed since the previous commit are visited
+ * - Parsed files are cached by blob hash, so identical file contents are parsed once, across
+ *   commits, branches and repositories
+ * - Each commit's graph is a PersistentMap derived from the previous one, sharing all unchanged
+ *   entries instead of copying the graph per commit
+ * - Metrics are updated from each changed file (see GraphMetrics): component, edge and unused
+ *   counts cost time proportional to the changes, while cycles are recounted over the whole
+ *   graph, and only for commits that add or remove a dependency edge
+ *
+ * Components are tracked by file path only; Gradle module membership is not resolved per commit.
+ *
+ * The service runs `git` in directories named by the client, so it is disabled unless
+ * `knit.timeline.repository-root` is set. Repositories are resolved against that root with
+ * symlinks followed and must lie inside it.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@Lazy
+@Service
+public class TimelineService {
+
+    /** Parse results by blob hash; empty when the blob declares no component */
+    private final Map<String, Optional<ComponentScan>> blobCache;
+
+    /** Only repositories below this directory may be analyzed; the timeline is disabled while it is empty */
+    @Value("${knit.timeline.repository-root:}")
+    private String repositoryRoot;
+
+    public TimelineService(@Value("${knit.timeline.blob-cache-size:200000}") int blobCacheSize) {
+        this.blobCache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<ComponentScan>> eldest) {
+                return size() > blobCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns true if a repository root is configured and the timeline may be used.
+     */
+    public boolean isEnabled() {
+        return !repositoryRoot.isBlank();
+    }
+
+    /**
+     * Computes graph metrics for every commit of a range.
+     *
+     * @param repositoryDir path of the local git repository, relative to the repository root or absolute
+     * @param from exclusive start revision, or null to start at the root commit
+     * @param to inclusive end revision
+     * @param maxCommits maximum number of most recent commits to analyze
+     * @return metrics per commit, oldest first
+     * @throws TimelineDisabledException if no repository root is configured
+     * @throws IllegalArgumentException if the repository or a revision is invalid
+     */
+    public List<CommitMetrics> analyze(Path repositoryDir, String from, String to, int maxCommits) throws IOException {
+        try (GitRepository git = GitRepository.open(resolveRepository(repositoryDir))) {
+            List<CommitMetrics> timeline = new ArrayList<>();
+            PersistentMap<String, ComponentScan> version = PersistentMap.empty();
+            GraphMetrics metrics = new GraphMetrics();
+            String previous = null;
+
+            for (GitRepository.Commit commit : git.commits(from, to, maxCommits)) {
+                List<GitRepository.FileChange> changes = previous == null
+                        ? git.kotlinFiles(commit.hash())
+                        : git.changedKotlinFiles(previous, commit.hash());
+
+                int parsed = 0;
+                for (GitRepository.FileChange change : changes) {
+                    ComponentScan scan = null;
+                    if (change.blob() != null) {
+                        Optional<ComponentScan> cached = cachedScan(change.blob());
+                        if (cached == null) {
+                            cached = Optional.ofNullable(parse(git.readBlob(change.blob())));
+                            cacheScan(change.blob(), cached);
+                            parsed++;
+                        }
+                        scan = cached.orElse(null);
+                    }
+
+                    ComponentScan previousScan = version.get(change.path());
+                    if (Objects.equals(previousScan, scan)) continue;
+                    if (previousScan != null) metrics.remove(previousScan);
+                    if (scan != null) metrics.add(scan);
+                    version = scan == null ? version.minus(change.path()) : version.plus(change.path(), scan);
+                }
+
+                timeline.add(new CommitMetrics(commit.hash(), commit.timestamp(), changes.size(), parsed,
+                        metrics.components(), metrics.edges(), metrics.cycles(), metrics.unused()));
+                previous = commit.hash();
+            }
+            return timeline;
+        }
+    }
+
+    /**
+     * Resolves a requested repository inside the repository root. Symlinks are resolved before
+     * the check, and repositories that do not exist or lie outside the root get the same error,
+     * so the response does not reveal which paths exist.
+     */
+    private Path resolveRepository(Path requested) throws IOException {
+        if (!isEnabled()) {
+            throw new TimelineDisabledException("The timeline is disabled: knit.timeline.repository-root is not set");
+        }
+        Path root = Path.of(repositoryRoot).toRealPath();
+        Path repository;
+        try {
+            repository = root.resolve(requested).toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown repository: " + requested);
+        }
+        if (!repository.startsWith(root)) {
+            throw new IllegalArgumentException("Unknown repository: " + requested);
+        }
+        return repository;
+    }
+
+    private Optional<ComponentScan> cachedScan(String blob) {
+        synchronized (blobCache) {
+            return blobCache.get(blob);
+        }
+    }
+
+    private void cacheScan(String blob, Optional<ComponentScan> scan) {
+        synchronized (blobCache) {
+            blobCache.put(blob, scan);
+        }
+    }
+
+    private static ComponentScan parse(byte[] content) {
+        List<String> lines = new String(content, StandardCharsets.UTF_8).lines().toList();
+        return KotlinSourceScanner.scan(lines, GradleModules.ROOT_MODULE);
+    }
+}
@@ -0,0 +1,131 @@
+package com.knit_VAR.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knit_VAR.dto.DependencyAnalysisResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AnalysisSnapshot
+ *
+ * Immutable, serialized view of a finished dependency analysis.
+ * A snapshot is created once per processed project and then served as-is by the graph endpoints,
+ * so repeated fetches of the same graph never re-serialize or re-compress the payload.
+ *
+ * Fields:
+ * - `result`: the analysis result the snapshot was built from
+ * - `contentHash`: SHA-256 (hex) of the serialized JSON, used as the strong ETag
+ * - `json`: the serialized JSON body
+ * - `gzip`: the same body precompressed with gzip, served with its own ETag (`"<hash>-gzip"`)
+ *
+ * The content hash only addresses content if the result is deterministic. DependencyServiceImpl
+ * ensures that: nodes and edges are listed in ID order, coordinates come from the layered
+ * GraphLayout and file paths in errors are relative to the project, so uploading the same
+ * project twice gives the same hash and shares one cache entry.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class AnalysisSnapshot {
+
+    /** Approximate heap used by the result maps per byte of their JSON form */
+    private static final int RESULT_BYTES_PER_JSON_BYTE = 4;
+
+    /** Analysis result the snapshot was built from */
+    private final DependencyAnalysisResult result;
+
+    /** Hex encoded SHA-256 of the JSON body */
+    private final String contentHash;
+
+    /** Serialized JSON body */
+    private final byte[] json;
+
+    /** Gzip compressed JSON body */
+    private final byte[] gzip;
+
+    private AnalysisSnapshot(DependencyAnalysisResult result, String contentHash, byte[] json, byte[] gzip) {
+        this.result = result;
+        this.contentHash = contentHash;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Serializes, hashes and compresses the given result.
+     *
+     * @param result the analysis result to freeze
+     * @param mapper the ObjectMapper used for API serialization
+     * @return a new AnalysisSnapshot
+     */
+    public static AnalysisSnapshot of(DependencyAnalysisResult result, ObjectMapper mapper) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(result);
+            return new AnalysisSnapshot(result, sha256(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize analysis result", e);
+        }
+    }
+
+    /** Returns the analysis result */
+    public DependencyAnalysisResult getResult() {
+        return result;
+    }
+
+    /** Returns the content hash */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /** Returns the strong ETag value of the uncompressed body (quoted content hash) */
+    public String getETag() {
+        return "\"" + contentHash + "\"";
+    }
+
+    /** Returns the strong ETag value of the gzip body, which must differ from the uncompressed one */
+    public String getGzipETag() {
+        return "\"" + contentHash + "-gzip\"";
+    }
+
+    /**
+     * Returns an estimate of the heap retained by this snapshot: both bodies plus the result maps.
+     * The maps are estimated from the JSON size, as they hold the same data with object overhead.
+     */
+    public long getRetainedBytes() {
+        return (long) json.length * (1 + RESULT_BYTES_PER_JSON_BYTE) + gzip.length;
+    }
+
+    /** Returns the uncompressed JSON body */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /** Returns the gzip compressed JSON body */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress analysis result", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,23 @@
+package com.knit_VAR.model;
+
+/**
+ * CommitMetrics
+ *
+ * Dependency graph metrics of one commit in a dependency evolution timeline.
+ *
+ * Fields:
+ * - `commit`: the commit hash
+ * - `timestamp`: committer time in seconds since the epoch
+ * - `changedFiles`: Kotlin files added, modified or deleted relative to the previous commit
+ * - `parsedFiles`: Kotlin files that had to be parsed (blobs not seen before)
+ * - `components`: number of @Provides components
+ * - `edges`: number of distinct dependency edges
+ * - `cycles`: number of dependency cycles (strongly connected groups of components)
+ * - `unused`: number of components no other component depends on
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record CommitMetrics(String commit, long timestamp, int changedFiles, int parsedFiles,
+                            int components, int edges, int cycles, int unused) {
+}
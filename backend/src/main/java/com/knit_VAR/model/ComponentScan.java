@@ -0,0 +1,21 @@
+package com.knit_VAR.model;
+
+import java.util.List;
+
+/**
+ * ComponentScan
+ *
+ * Result of scanning a single Kotlin source file for a Knit component.
+ * Scans are produced by the KotlinSourceScanner, either in-process or inside a worker JVM,
+ * and are turned into graph nodes and edges by the DependencyService.
+ *
+ * Fields:
+ * - `component`: name of the @Provides annotated class declared in the file
+ * - `dependencies`: names of the properties injected with `by di`
+ * - `module`: Gradle module path the file belongs to (e.g. `:app` or `:` for the root project)
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record ComponentScan(String component, List<String> dependencies, String module) {
+}
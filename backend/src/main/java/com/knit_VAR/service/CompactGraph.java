@@ -0,0 +1,319 @@
+package com.knit_VAR.service;
+
+import com.knit_VAR.model.ComponentScan;
+
+import java.util.*;
+
+/**
+ * CompactGraph
+ *
+ * Int-indexed dependency graph used for the global graph passes of an analysis.
+ * Component and dependency IDs are interned once; edges are stored as one int array in
+ * compressed sparse row form, so a graph with hundreds of thousands of edges needs a few
+ * arrays instead of one map and two lists per node and edge.
+ *
+ * - Nodes are numbered in ID order, so the same components give the same graph whatever
+ *   order the files were scanned in; dependency targets that are never declared as
+ *   components are nodes too, but not components
+ * - Duplicate edges (e.g. the same component reported by two shards) are dropped on build
+ * - Cycles and layers are found with an iterative Tarjan pass, so deep dependency chains
+ *   cannot overflow the stack
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class CompactGraph {
+
+    /** ID of every node */
+    private final String[] ids;
+
+    /** Gradle module of every component, null for nodes that are only dependency targets */
+    private final String[] modules;
+
+    /** Edges of node i are edgeTargets[edgeOffsets[i]] to edgeTargets[edgeOffsets[i + 1] - 1] */
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+
+    private CompactGraph(String[] ids, String[] modules, int[] edgeOffsets, int[] edgeTargets) {
+        this.ids = ids;
+        this.modules = modules;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+    }
+
+    /** Returns a builder for a new graph */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Returns the number of nodes */
+    public int size() {
+        return ids.length;
+    }
+
+    /** Returns the number of distinct edges */
+    public int edgeCount() {
+        return edgeTargets.length;
+    }
+
+    /** Returns the ID of a node */
+    public String id(int node) {
+        return ids[node];
+    }
+
+    /** Returns the Gradle module of a component, or null if the node is not a component */
+    public String module(int node) {
+        return modules[node];
+    }
+
+    /** Returns true if the node was declared as a component, not only referenced as a dependency */
+    public boolean isComponent(int node) {
+        return modules[node] != null;
+    }
+
+    /** Returns the index of the first edge of a node */
+    public int firstEdge(int node) {
+        return edgeOffsets[node];
+    }
+
+    /** Returns the index after the last edge of a node */
+    public int endEdge(int node) {
+        return edgeOffsets[node + 1];
+    }
+
+    /** Returns the target node of an edge */
+    public int target(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /** Returns the number of components */
+    public int componentCount() {
+        int count = 0;
+        for (String module : modules) {
+            if (module != null) count++;
+        }
+        return count;
+    }
+
+    /** Returns, for every node, whether any edge points to it */
+    public boolean[] targeted() {
+        boolean[] targeted = new boolean[ids.length];
+        for (int target : edgeTargets) targeted[target] = true;
+        return targeted;
+    }
+
+    /**
+     * Finds the cycles of the graph: strongly connected components with more than one node,
+     * or a node that depends on itself.
+     *
+     * @return for every node the number of its cycle, or -1 if it is not part of a cycle;
+     *         an edge is part of a cycle if both ends have the same cycle number
+     */
+    public int[] cycles() {
+        int[] componentOf = stronglyConnectedComponents();
+        int[] size = new int[ids.length];
+        for (int component : componentOf) size[component]++;
+
+        boolean[] isCycle = new boolean[ids.length];
+        for (int node = 0; node < ids.length; node++) {
+            if (size[componentOf[node]] > 1 || hasSelfLoop(node)) isCycle[componentOf[node]] = true;
+        }
+        // Cycles are numbered in the order Tarjan completes their components
+        int[] cycleOfComponent = new int[ids.length];
+        int cycles = 0;
+        for (int component = 0; component < ids.length; component++) {
+            cycleOfComponent[component] = isCycle[component] ? cycles++ : -1;
+        }
+
+        int[] cycleOf = new int[ids.length];
+        for (int node = 0; node < ids.length; node++) cycleOf[node] = cycleOfComponent[componentOf[node]];
+        return cycleOf;
+    }
+
+    /**
+     * Assigns every node the length of the longest dependency chain below it: nodes without
+     * dependencies are on layer 0, and every node is above all of its dependencies. The nodes
+     * of one cycle share a layer.
+     *
+     * @return the layer of every node
+     */
+    public int[] layers() {
+        int n = ids.length;
+        int[] componentOf = stronglyConnectedComponents();
+
+        // Group the nodes by component; a component is completed after every component it reaches
+        int[] start = new int[n + 1];
+        for (int component : componentOf) start[component + 1]++;
+        for (int i = 0; i < n; i++) start[i + 1] += start[i];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int node = 0; node < n; node++) members[fill[componentOf[node]]++] = node;
+
+        int[] layerOfComponent = new int[n];
+        for (int component = 0; component < n; component++) {
+            for (int i = start[component]; i < start[component + 1]; i++) {
+                int node = members[i];
+                for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                    int target = componentOf[edgeTargets[edge]];
+                    if (target != component) {
+                        layerOfComponent[component] = Math.max(layerOfComponent[component], layerOfComponent[target] + 1);
+                    }
+                }
+            }
+        }
+
+        int[] layers = new int[n];
+        for (int node = 0; node < n; node++) layers[node] = layerOfComponent[componentOf[node]];
+        return layers;
+    }
+
+    /**
+     * Iterative Tarjan pass.
+     *
+     * @return for every node the number of its strongly connected component; components are
+     *         numbered in completion order, so every edge leads to a component with a lower or
+     *         equal number
+     */
+    private int[] stronglyConnectedComponents() {
+        int n = ids.length;
+        int[] componentOf = new int[n];
+        int[] indexOf = new int[n];
+        int[] lowLink = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(indexOf, -1);
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callStack = new int[n];
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (indexOf[root] != -1) continue;
+            int depth = 0;
+            callStack[depth++] = root;
+            indexOf[root] = lowLink[root] = counter++;
+            nextEdge[root] = edgeOffsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (nextEdge[node] < edgeOffsets[node + 1]) {
+                    int target = edgeTargets[nextEdge[node]++];
+                    if (indexOf[target] == -1) {
+                        indexOf[target] = lowLink[target] = counter++;
+                        nextEdge[target] = edgeOffsets[target];
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        callStack[depth++] = target;
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], indexOf[target]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == indexOf[node]) {
+                    int first = stackSize;
+                    do {
+                        onStack[stack[--first]] = false;
+                    } while (stack[first] != node);
+                    for (int i = first; i < stackSize; i++) componentOf[stack[i]] = components;
+                    components++;
+                    stackSize = first;
+                }
+            }
+        }
+        return componentOf;
+    }
+
+    /** Returns the number of cycles, as found by cycles() */
+    public int countCycles() {
+        int max = -1;
+        for (int cycle : cycles()) max = Math.max(max, cycle);
+        return max + 1;
+    }
+
+    private boolean hasSelfLoop(int node) {
+        for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+            if (edgeTargets[edge] == node) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Collects components and their dependencies, interning IDs as they arrive.
+     * Edges are buffered as packed (source, target) pairs until build().
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<String> modules = new ArrayList<>();
+        private long[] edges = new long[1024];
+        private int edgeCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a scanned component and its dependencies. A component that is added again keeps
+         * the module it was first added with.
+         */
+        public Builder add(ComponentScan scan) {
+            int source = intern(scan.component());
+            if (modules.get(source) == null) modules.set(source, Objects.requireNonNullElse(scan.module(), ""));
+            for (String dependency : scan.dependencies()) {
+                int target = intern(dependency);
+                if (edgeCount == edges.length) edges = Arrays.copyOf(edges, edgeCount * 2);
+                edges[edgeCount++] = ((long) source << 32) | target;
+            }
+            return this;
+        }
+
+        /** Builds the graph; nodes are renumbered in ID order, edges are sorted and deduplicated */
+        public CompactGraph build() {
+            int n = ids.size();
+            String[] sortedIds = ids.toArray(new String[0]);
+            Arrays.sort(sortedIds);
+            int[] rank = new int[n];
+            String[] sortedModules = new String[n];
+            for (int node = 0; node < n; node++) {
+                int previous = index.get(sortedIds[node]);
+                rank[previous] = node;
+                sortedModules[node] = modules.get(previous);
+            }
+
+            long[] sorted = new long[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                sorted[i] = ((long) rank[(int) (edges[i] >>> 32)] << 32) | rank[(int) edges[i]];
+            }
+            Arrays.sort(sorted);
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[sorted.length];
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i > 0 && sorted[i] == sorted[i - 1]) continue;
+                offsets[(int) (sorted[i] >>> 32) + 1]++;
+                targets[distinct++] = (int) sorted[i];
+            }
+            for (int i = 0; i < n; i++) offsets[i + 1] += offsets[i];
+            return new CompactGraph(sortedIds, sortedModules, offsets, Arrays.copyOf(targets, distinct));
+        }
+
+        private int intern(String id) {
+            Integer existing = index.get(id);
+            if (existing != null) return existing;
+            int node = ids.size();
+            index.put(id, node);
+            ids.add(id);
+            modules.add(null);
+            return node;
+        }
+    }
+}
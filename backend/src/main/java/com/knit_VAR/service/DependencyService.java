@@ -2,6 +2,7 @@ package com.knit_VAR.service;
 
 import org.springframework.web.multipart.MultipartFile;
 import com.knit_VAR.dto.DependencyAnalysisResult;
+import com.knit_VAR.model.AnalysisSnapshot;
 
 /**
  * DependencyService
@@ -11,6 +12,7 @@ import com.knit_VAR.dto.DependencyAnalysisResult;
  * Methods:
  * - processProject: Accepts a Kotlin file upload and processes it to extract dependency information.
  * - getDependencyGraph: Returns the analyzed dependency data, including nodes, edges, errors, and suggestions.
+ * - getSnapshot: Returns the serialized, content-hashed snapshot of an analysis for cached graph fetches.
  *
  * Portions of this file may have been assisted by GitHub Copilot.
  * All code has been reviewed and manually verified by the author.
@@ -20,12 +22,27 @@ public interface DependencyService {
     /**
      * Process a Kotlin project file to extract dependencies.
      * @param file the uploaded Kotlin file (.kt)
+     * @return the snapshot of this upload's analysis; with concurrent uploads, the latest
+     *         snapshot may already belong to another upload
      */
-    void processProject(MultipartFile file);
+    AnalysisSnapshot processProject(MultipartFile file);
 
     /**
      * Get the dependency analysis result of the last processed project.
      * @return a DependencyAnalysisResult containing nodes, edges, errors, and suggestions
      */
     DependencyAnalysisResult getDependencyGraph();
+
+    /**
+     * Get the snapshot of the last processed project.
+     * @return the latest AnalysisSnapshot, or null if no project has been processed yet
+     */
+    AnalysisSnapshot getSnapshot();
+
+    /**
+     * Get a recent snapshot by its content hash.
+     * @param contentHash the hex content hash of the snapshot
+     * @return the matching AnalysisSnapshot, or null if it is unknown or has been evicted
+     */
+    AnalysisSnapshot getSnapshot(String contentHash);
 }
@@ -1,66 +1,125 @@
 package com.knit_VAR.service;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
-import java.util.zip.*;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knit_VAR.buildmeta.BuildMetadataScanner;
+import com.knit_VAR.buildmeta.VersionConflict;
 import com.knit_VAR.dto.DependencyAnalysisResult;
+import com.knit_VAR.model.AnalysisSnapshot;
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.upload.AnalysisMemoryBudget;
+import com.knit_VAR.upload.BoundedZipExtractor;
+import com.knit_VAR.upload.ResourceLimitException;
+import com.knit_VAR.upload.UploadLimits;
+import com.knit_VAR.worker.ShardCoordinator;
+import com.knit_VAR.worker.ShardResult;
 
 /**
  * DependencyServiceImpl
  *
  * Implementation of DependencyService for analyzing Kotlin project dependencies.
  *
- * - Accept a zipped Kotlin project (.zip) and extract its contents
- * - Scan Kotlin source files for @Provides annotated classes and DI references
- * - Build nodes and edges for the dependency graph
- * - Detect simple circular dependencies and unused dependencies
- * - Placeholder methods for version conflict detection and visualization enhancements
+ * - Accept a zipped Kotlin project (.zip) and extract its contents within the upload limits
+ * - Scan Kotlin source files for @Provides annotated classes and DI references,
+ *   optionally sharded by Gradle module across worker JVMs (see ShardCoordinator)
+ * - Merge the scanned components into a CompactGraph and detect circular and unused
+ *   dependencies on it, then build the nodes and edges of the result, positioned by GraphLayout
+ * - Detect library version conflicts across modules from the Gradle build metadata
+ * - Placeholder method for visualization enhancements
+ * - Freeze each finished analysis into a content-hashed AnalysisSnapshot for cached graph fetches
  *
  * Portions of this code may have been assisted by GitHub Copilot.
  * All code has been reviewed and manually verified by the author.
  */
+@Lazy
 @Service
 public class DependencyServiceImpl implements DependencyService {
 
     private static final Logger logger = LoggerFactory.getLogger(DependencyServiceImpl.class);
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardCoordinator shardCoordinator;
+
+    @Autowired
+    private UploadLimits uploadLimits;
+
+    @Autowired
+    private AnalysisMemoryBudget memoryBudget;
+
+    /** Estimated heap that recent snapshots may retain; the latest snapshot is always kept */
+    @Value("${knit.snapshot.cache-bytes:134217728}")
+    private long snapshotCacheBytes;
+
     /** Stores the analysis results for the current project */
-    private DependencyAnalysisResult analysisResult = new DependencyAnalysisResult();
+    private volatile DependencyAnalysisResult analysisResult = new DependencyAnalysisResult();
 
-    /** Temporary directory where the uploaded project is extracted */
-    private Path tempProjectDir;
+    /** Snapshot of the last finished analysis */
+    private volatile AnalysisSnapshot snapshot;
+
+    /** Recent snapshots by content hash, least recently used first */
+    private final LinkedHashMap<String, AnalysisSnapshot> recentSnapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Sum of the retained bytes of recentSnapshots, guarded by recentSnapshots */
+    private long recentSnapshotBytes;
 
     /**
      * Processes the uploaded Kotlin project zip file.
+     * The analysis reserves a memory budget for the uploaded file first and grows it with the
+     * uncompressed bytes while extracting the zip within the upload limits;
+     * uploads rejected by a limit leave the previous analysis result in place.
+     * Uploads may be processed concurrently; the last one to finish becomes the current result.
      * @param file the uploaded zip file
+     * @return the snapshot published for this upload
+     * @throws ResourceLimitException if the upload exceeds a limit or no capacity is available
      */
     @Override
-    public void processProject(MultipartFile file) {
-        try {
-            // Reset analysis result for each new upload
-            analysisResult = new DependencyAnalysisResult();
-            tempProjectDir = Files.createTempDirectory("knit_project");
+    public AnalysisSnapshot processProject(MultipartFile file) {
+        try (AnalysisMemoryBudget.Reservation reservation =
+                     memoryBudget.reserve(uploadLimits.requestMemoryBytes(file.getSize()))) {
+            // Each upload is analyzed in its own state, so concurrent uploads do not interfere
+            ProjectAnalysis analysis = new ProjectAnalysis();
+            Path projectDir = null;
+            try {
+                projectDir = Files.createTempDirectory("knit_project");
+
+                // Extract zip contents
+                try (InputStream in = file.getInputStream()) {
+                    BoundedZipExtractor.extract(in, projectDir, uploadLimits, reservation);
+                }
 
-            // Extract zip contents
-            unzip(file.getInputStream(), tempProjectDir);
+                // Scan all Kotlin source files
+                scanKotlinSources(analysis, projectDir);
 
-            // Scan all Kotlin source files
-            scanKotlinSources(tempProjectDir);
+                // Perform the global graph passes on the compact graph, then build the result maps once
+                CompactGraph graph = analysis.graph.build();
+                buildGraphResult(analysis, graph, detectCircularDependencies(graph), detectUnusedDependencies(graph));
+                detectVersionConflicts(analysis, projectDir);
+                enhanceGraphVisualization(analysis);
 
-            // Perform analysis steps
-            detectCircularDependencies();
-            detectUnusedDependencies();
-            detectVersionConflicts();
-            enhanceGraphVisualization();
+            } catch (ResourceLimitException e) {
+                throw e;
+            } catch (Exception e) {
+                analysis.result.errors.add("Failed to process project: " + e.getMessage());
+                logger.error("Error processing project", e);
+            } finally {
+                deleteProjectDir(projectDir);
+            }
 
-        } catch (Exception e) {
-            analysisResult.errors.add("Failed to process project: " + e.getMessage());
-            logger.error("Error processing project", e);
+            relativizeErrors(analysis, projectDir);
+            return publish(analysis.result);
         }
     }
 
@@ -74,153 +133,216 @@ public class DependencyServiceImpl implements DependencyService {
     }
 
     /**
-     * Extracts the contents of a zip input stream into a target directory.
+     * Returns the snapshot of the last processed project.
+     * @return the latest AnalysisSnapshot, or null before the first upload
      */
-    private void unzip(InputStream inputStream, Path targetDir) throws IOException {
-        try (ZipInputStream zis = new ZipInputStream(inputStream)) {
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                Path filePath = targetDir.resolve(entry.getName());
-                if (entry.isDirectory()) {
-                    Files.createDirectories(filePath);
-                } else {
-                    Files.createDirectories(filePath.getParent());
-                    Files.copy(zis, filePath, StandardCopyOption.REPLACE_EXISTING);
-                }
+    @Override
+    public AnalysisSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns a recent snapshot by its content hash.
+     * @param contentHash the hex content hash of the snapshot
+     * @return the matching AnalysisSnapshot, or null if unknown or evicted
+     */
+    @Override
+    public AnalysisSnapshot getSnapshot(String contentHash) {
+        synchronized (recentSnapshots) {
+            return recentSnapshots.get(contentHash);
+        }
+    }
+
+    /**
+     * Makes a finished result and its snapshot the current ones, and keeps the snapshot
+     * addressable by its content hash. Serialization happens before taking the lock.
+     * Least recently used snapshots are evicted once the cache exceeds its byte budget.
+     * @return the published snapshot
+     */
+    private AnalysisSnapshot publish(DependencyAnalysisResult result) {
+        AnalysisSnapshot newSnapshot = AnalysisSnapshot.of(result, objectMapper);
+        synchronized (recentSnapshots) {
+            AnalysisSnapshot replaced = recentSnapshots.put(newSnapshot.getContentHash(), newSnapshot);
+            if (replaced != null) recentSnapshotBytes -= replaced.getRetainedBytes();
+            recentSnapshotBytes += newSnapshot.getRetainedBytes();
+
+            Iterator<AnalysisSnapshot> leastRecentlyUsed = recentSnapshots.values().iterator();
+            while (recentSnapshotBytes > snapshotCacheBytes && recentSnapshots.size() > 1) {
+                recentSnapshotBytes -= leastRecentlyUsed.next().getRetainedBytes();
+                leastRecentlyUsed.remove();
             }
+            analysisResult = result;
+            snapshot = newSnapshot;
         }
+        return newSnapshot;
     }
 
     /**
-     * Recursively scans a directory for Kotlin source files and analyzes them.
+     * Strips the temporary project directory from error messages, so they name files as they
+     * appear in the uploaded zip and the same upload always gives the same result and hash.
      */
-    private void scanKotlinSources(Path dir) throws IOException {
-        Files.walk(dir)
-                .filter(path -> path.toString().endsWith(".kt"))
-                .forEach(this::analyzeKotlinFile);
+    private void relativizeErrors(ProjectAnalysis analysis, Path projectDir) {
+        if (projectDir == null) return;
+        String prefix = projectDir.toAbsolutePath() + File.separator;
+        analysis.result.errors.replaceAll(error -> error.replace(prefix, ""));
     }
 
     /**
-     * Analyzes a single Kotlin file to extract DI-provided classes and dependencies.
+     * Deletes an extracted project once its analysis is done.
      */
-    private void analyzeKotlinFile(Path kotlinFile) {
-        try {
-            List<String> lines = Files.readAllLines(kotlinFile);
-            String componentName = null;
-            List<String> dependencies = new ArrayList<>();
-
-            for (String line : lines) {
-                // Detect @Provides annotation and class declaration
-                if (line.contains("@Provides") && line.contains("class ")) {
-                    int idx = line.indexOf("class ") + 6;
-                    int end = line.indexOf("(", idx);
-                    if (end == -1) end = line.length();
-                    componentName = line.substring(idx, end).trim();
-                }
+    private void deleteProjectDir(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Failed to delete extracted project {}", dir, e);
+        }
+    }
 
-                // Detect DI injected properties
-                if (line.contains("by di")) {
-                    String[] parts = line.split("val ");
-                    if (parts.length > 1) {
-                        String dep = parts[1].split(" ")[0].trim();
-                        dependencies.add(dep);
-                    }
-                }
-            }
+    /**
+     * Scans the Kotlin source files of the project, grouped by Gradle module.
+     * Multi-module projects are sharded across worker JVMs when the ShardCoordinator is enabled;
+     * the per-shard results are merged into the compact graph before the global graph passes run.
+     */
+    private void scanKotlinSources(ProjectAnalysis analysis, Path dir) throws IOException {
+        SortedMap<String, List<Path>> modules = GradleModules.groupKotlinSources(dir);
 
-            // Create node and edges in the graph
-            if (componentName != null) {
-                Map<String, Object> node = new HashMap<>();
-                node.put("id", componentName);
-                node.put("label", componentName);
-                node.put("x", Math.random() * 600 + 100);
-                node.put("y", Math.random() * 400 + 100);
-                node.put("color", "default"); // severity
-                node.put("issues", new ArrayList<String>());
-                node.put("suggestions", new ArrayList<String>());
-                analysisResult.nodes.add(node);
-
-                for (String dep : dependencies) {
-                    Map<String, Object> edge = new HashMap<>();
-                    edge.put("id", componentName + "_" + dep);
-                    edge.put("source", componentName);
-                    edge.put("target", dep);
-                    edge.put("label", componentName + "→" + dep);
-                    edge.put("thickness", 1);
-                    edge.put("issues", new ArrayList<String>());
-                    edge.put("suggestions", new ArrayList<String>());
-                    analysisResult.edges.add(edge);
-                }
+        if (shardCoordinator.isEnabled() && modules.size() > 1) {
+            for (ShardResult shard : shardCoordinator.analyze(modules)) {
+                shard.components().forEach(analysis.graph::add);
+                analysis.result.errors.addAll(shard.errors());
             }
+            return;
+        }
+
+        modules.forEach((module, files) -> files.forEach(file -> analyzeKotlinFile(analysis, file, module)));
+    }
 
+    /**
+     * Analyzes a single Kotlin file to extract DI-provided classes and dependencies.
+     */
+    private void analyzeKotlinFile(ProjectAnalysis analysis, Path kotlinFile, String module) {
+        try {
+            ComponentScan scan = KotlinSourceScanner.scan(kotlinFile, module);
+            if (scan != null) analysis.graph.add(scan);
         } catch (IOException e) {
-            analysisResult.errors.add("Failed to analyze Kotlin file: " + kotlinFile + " - " + e.getMessage());
+            analysis.result.errors.add("Failed to analyze Kotlin file: " + kotlinFile + " - " + e.getMessage());
             logger.error("Error analyzing Kotlin file", e);
         }
     }
 
     /** --- Analysis feature scaffolds --- */
 
-    /** Detects circular dependencies in the graph and marks them */
-    private void detectCircularDependencies() {
-        Map<String, List<String>> graph = new HashMap<>();
-        for (Map<String, Object> edge : analysisResult.edges) {
-            String source = (String) edge.get("source");
-            String target = (String) edge.get("target");
-            graph.computeIfAbsent(source, k -> new ArrayList<>()).add(target);
-        }
-        Set<String> visited = new HashSet<>();
-        Set<String> stack = new HashSet<>();
-        for (String node : graph.keySet()) {
-            if (detectCycleDFS(node, graph, visited, stack)) {
-                for (Map<String, Object> n : analysisResult.nodes) {
-                    if (stack.contains(n.get("id"))) n.put("color", "red"); // critical
-                }
-                for (Map<String, Object> e : analysisResult.edges) {
-                    if (stack.contains(e.get("source")) && stack.contains(e.get("target"))) {
-                        e.put("thickness", 3);
-                        ((List<String>) e.get("issues")).add("Circular dependency detected");
-                    }
-                }
-            }
-        }
+    /**
+     * Detects circular dependencies in the graph.
+     * @return the cycle number of every node, or -1 for nodes outside of cycles
+     */
+    private int[] detectCircularDependencies(CompactGraph graph) {
+        return graph.cycles();
     }
 
-    /** Helper method for DFS cycle detection */
-    private boolean detectCycleDFS(String node, Map<String, List<String>> graph, Set<String> visited, Set<String> stack) {
-        if (stack.contains(node)) return true;
-        if (visited.contains(node)) return false;
-        visited.add(node);
-        stack.add(node);
-        List<String> neighbors = graph.getOrDefault(node, Collections.emptyList());
-        for (String n : neighbors) {
-            if (detectCycleDFS(n, graph, visited, stack)) return true;
+    /**
+     * Detects unused dependencies: components that no other component depends on.
+     * @return for every node whether it is an unused component
+     */
+    private boolean[] detectUnusedDependencies(CompactGraph graph) {
+        boolean[] targeted = graph.targeted();
+        boolean[] unused = new boolean[graph.size()];
+        for (int node = 0; node < graph.size(); node++) {
+            unused[node] = graph.isComponent(node) && !targeted[node];
         }
-        stack.remove(node);
-        return false;
+        return unused;
     }
 
-    /** Marks unused dependencies in the graph */
-    private void detectUnusedDependencies() {
-        Set<String> used = new HashSet<>();
-        for (Map<String, Object> edge : analysisResult.edges) {
-            used.add((String) edge.get("target"));
+    /**
+     * Builds the node and edge maps of the result from the compact graph, marking nodes in cycles
+     * red, unused components orange and edges inside a cycle as thick edges with an issue.
+     * Nodes and edges are listed in graph order and placed by the layered GraphLayout, so the
+     * same project always gives the same result.
+     */
+    private void buildGraphResult(ProjectAnalysis analysis, CompactGraph graph, int[] cycleOf, boolean[] unused) {
+        GraphLayout layout = GraphLayout.layered(graph);
+        for (int node = 0; node < graph.size(); node++) {
+            if (!graph.isComponent(node)) continue;
+            List<String> issues = new ArrayList<>();
+            String color = "default"; // severity
+            if (cycleOf[node] >= 0) {
+                color = "red"; // critical
+            } else if (unused[node]) {
+                color = "orange";
+                issues.add("Unused dependency");
+            }
+
+            Map<String, Object> nodeMap = new HashMap<>();
+            nodeMap.put("id", graph.id(node));
+            nodeMap.put("label", graph.id(node));
+            nodeMap.put("module", graph.module(node));
+            nodeMap.put("x", layout.x(node));
+            nodeMap.put("y", layout.y(node));
+            nodeMap.put("color", color);
+            nodeMap.put("issues", issues);
+            nodeMap.put("suggestions", new ArrayList<String>());
+            analysis.result.nodes.add(nodeMap);
         }
-        for (Map<String, Object> node : analysisResult.nodes) {
-            if (!used.contains(node.get("id"))) {
-                node.put("color", "orange");
-                ((List<String>) node.get("issues")).add("Unused dependency");
+
+        for (int source = 0; source < graph.size(); source++) {
+            for (int edge = graph.firstEdge(source); edge < graph.endEdge(source); edge++) {
+                int target = graph.target(edge);
+                boolean circular = cycleOf[source] >= 0 && cycleOf[source] == cycleOf[target];
+                List<String> issues = new ArrayList<>();
+                if (circular) issues.add("Circular dependency detected");
+
+                Map<String, Object> edgeMap = new HashMap<>();
+                edgeMap.put("id", graph.id(source) + "_" + graph.id(target));
+                edgeMap.put("source", graph.id(source));
+                edgeMap.put("target", graph.id(target));
+                edgeMap.put("label", graph.id(source) + "→" + graph.id(target));
+                edgeMap.put("thickness", circular ? 3 : 1);
+                edgeMap.put("issues", issues);
+                edgeMap.put("suggestions", new ArrayList<String>());
+                analysis.result.edges.add(edgeMap);
             }
         }
     }
 
-    /** Placeholder for version conflict detection */
-    private void detectVersionConflicts() {
-        // Would require external library version info
+    /**
+     * Detects libraries declared with different versions across Gradle modules,
+     * using the build files and version catalogs of the project, and marks the affected nodes.
+     */
+    @SuppressWarnings("unchecked")
+    private void detectVersionConflicts(ProjectAnalysis analysis, Path projectDir) throws IOException {
+        List<VersionConflict> conflicts = BuildMetadataScanner.scan(projectDir).findConflicts();
+        if (conflicts.isEmpty()) return;
+
+        Map<Object, List<Map<String, Object>>> nodesByModule = new HashMap<>();
+        for (Map<String, Object> node : analysis.result.nodes) {
+            nodesByModule.computeIfAbsent(node.get("module"), k -> new ArrayList<>()).add(node);
+        }
+
+        for (VersionConflict conflict : conflicts) {
+            String issue = "Version conflict: " + conflict.describe();
+            analysis.result.suggestions.add("Align " + conflict.coordinate()
+                    + " to a single version across modules (e.g. in libs.versions.toml): " + conflict.describe());
+            for (String module : conflict.modules()) {
+                for (Map<String, Object> node : nodesByModule.getOrDefault(module, Collections.emptyList())) {
+                    if ("default".equals(node.get("color"))) node.put("color", "orange");
+                    ((List<String>) node.get("issues")).add(issue);
+                }
+            }
+        }
     }
 
     /** Placeholder for visualization enhancements */
-    private void enhanceGraphVisualization() {
+    private void enhanceGraphVisualization(ProjectAnalysis analysis) {
         // e.g., zoom, filter, export enhancements
     }
-}
\ No newline at end of file
+
+    /**
+     * State of one project analysis: the result being built and the compact graph collecting
+     * the scanned components until the graph passes run.
+     */
+    private static final class ProjectAnalysis {
+        private final DependencyAnalysisResult result = new DependencyAnalysisResult();
+        private final CompactGraph.Builder graph = CompactGraph.builder();
+    }
+}
@@ -0,0 +1,84 @@
+package com.knit_VAR.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * GraphLayout
+ *
+ * Deterministic layered layout of the components of a CompactGraph, stored in the `x`/`y`
+ * of the result nodes and used by the frontend graph and the SVG export.
+ *
+ * - Components are placed in rows by layer (see CompactGraph.layers()): components that depend
+ *   on others are drawn above their dependencies, components without dependencies at the bottom
+ * - Within a layer, components are ordered by module and then by ID, so modules stay together
+ * - Wide layers wrap after a fixed number of components, so large graphs stay roughly square
+ *
+ * The same graph always gets the same coordinates.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class GraphLayout {
+
+    /** Position of the first component and distance between components, matching the frontend graph */
+    private static final int ORIGIN = 100;
+    private static final int SPACING_X = 200;
+    private static final int SPACING_Y = 150;
+
+    /** Components per row are at least this many, and grow with the square root of the graph */
+    private static final int MIN_ROW_LENGTH = 5;
+
+    private final int[] x;
+    private final int[] y;
+
+    private GraphLayout(int[] x, int[] y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Lays out the components of a graph. Nodes that are only dependency targets get no position.
+     *
+     * @param graph the graph to lay out
+     * @return the layout of the graph
+     */
+    public static GraphLayout layered(CompactGraph graph) {
+        int[] layers = graph.layers();
+        List<Integer> components = new ArrayList<>(graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            if (graph.isComponent(node)) components.add(node);
+        }
+        // Top layer first; nodes are numbered in ID order, so the node number breaks module ties
+        components.sort(Comparator.<Integer>comparingInt(node -> -layers[node])
+                .thenComparing(graph::module)
+                .thenComparingInt(node -> node));
+
+        int rowLength = Math.max(MIN_ROW_LENGTH, (int) Math.ceil(Math.sqrt(components.size())));
+        int[] x = new int[graph.size()];
+        int[] y = new int[graph.size()];
+        int row = 0;
+        int column = 0;
+        for (int i = 0; i < components.size(); i++) {
+            int node = components.get(i);
+            if (i > 0 && (column == rowLength || layers[node] != layers[components.get(i - 1)])) {
+                row++;
+                column = 0;
+            }
+            x[node] = ORIGIN + column++ * SPACING_X;
+            y[node] = ORIGIN + row * SPACING_Y;
+        }
+        return new GraphLayout(x, y);
+    }
+
+    /** Returns the x coordinate of a component */
+    public int x(int node) {
+        return x[node];
+    }
+
+    /** Returns the y coordinate of a component */
+    public int y(int node) {
+        return y[node];
+    }
+}
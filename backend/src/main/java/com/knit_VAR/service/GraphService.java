@@ -3,6 +3,7 @@ package com.knit_VAR.service;
 import com.knit_VAR.model.Edge;
 import com.knit_VAR.model.GraphResponse;
 import com.knit_VAR.model.Node;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,6 +19,7 @@ import java.util.List;
  * Portions of this code may have been assisted by GitHub Copilot.
  * All code has been reviewed and manually verified by the author.
  */
+@Lazy
 @Service
 public class GraphService {
 
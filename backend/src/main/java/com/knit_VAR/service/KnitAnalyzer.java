@@ -3,14 +3,20 @@ package com.knit_VAR.service;
 import com.knit_VAR.model.KnitAnalysisResult;
 import com.knit_VAR.model.Node;
 import com.knit_VAR.model.Edge;
+import org.springframework.context.annotation.Lazy;
+import com.knit_VAR.upload.AnalysisMemoryBudget;
+import com.knit_VAR.upload.LimitedInputStream;
+import com.knit_VAR.upload.ResourceLimitException;
+import com.knit_VAR.upload.UploadLimits;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * KnitAnalyzer
@@ -25,20 +31,39 @@ import java.util.stream.Collectors;
  * Portions of this code may have been assisted by GitHub Copilot.
  * All code has been reviewed and manually verified by the author.
  */
+@Lazy
 @Service
 public class KnitAnalyzer {
 
+    @Autowired
+    private UploadLimits uploadLimits;
+
+    @Autowired
+    private AnalysisMemoryBudget memoryBudget;
+
     /**
      * Analyzes the given Kotlin file for DI usage and dependencies.
+     * The file is scanned line by line within the per-file byte limit instead of being read into memory.
      *
      * @param file MultipartFile uploaded by the user
      * @return KnitAnalysisResult containing analysis information
+     * @throws ResourceLimitException if the file exceeds the limit or no capacity is available
      */
     public KnitAnalysisResult analyzeFull(MultipartFile file) {
-        try {
-            // Read the full content of the uploaded file
-            String content = new BufferedReader(new InputStreamReader(file.getInputStream()))
-                    .lines().collect(Collectors.joining("\n"));
+        try (AnalysisMemoryBudget.Reservation reservation =
+                     memoryBudget.reserve(uploadLimits.requestMemoryBytes(file.getSize()));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     new LimitedInputStream(file.getInputStream(), uploadLimits.getMaxEntryBytes(), "Uploaded file"),
+                     StandardCharsets.UTF_8))) {
+
+            // Scan the uploaded file for DI annotations or usage
+            boolean hasProvides = false;
+            boolean hasDi = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                hasProvides |= line.contains("@Provides");
+                hasDi |= line.contains("by di");
+            }
 
             // Initialize lists for the analysis result
             List<Node> nodes = new ArrayList<>();
@@ -47,10 +72,6 @@ public class KnitAnalyzer {
             List<String> errors = new ArrayList<>();
             List<String> suggestions = new ArrayList<>();
 
-            // Check if the file contains DI annotations or usage
-            boolean hasProvides = content.contains("@Provides");
-            boolean hasDi = content.contains("by di");
-
             // Add nodes and suggestions based on analysis
             if (hasProvides) {
                 nodes.add(new Node("provides", "@Provides"));
@@ -81,6 +102,8 @@ public class KnitAnalyzer {
             result.setEdges(edges);
 
             return result;
+        } catch (ResourceLimitException e) {
+            throw e;
         } catch (Exception e) {
             // Wrap exceptions for clearer error reporting
             throw new RuntimeException("Failed to analyze file", e);
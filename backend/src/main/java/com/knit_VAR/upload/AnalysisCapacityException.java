@@ -0,0 +1,17 @@
+package com.knit_VAR.upload;
+
+/**
+ * AnalysisCapacityException
+ *
+ * Thrown when the shared analysis memory pool cannot cover a request's budget.
+ * Answered with 503 Service Unavailable and a Retry-After header.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class AnalysisCapacityException extends ResourceLimitException {
+
+    public AnalysisCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.knit_VAR.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalysisMemoryBudget
+ *
+ * Shared memory pool from which every analysis reserves its budget before it starts.
+ * When the pool is exhausted, new requests are rejected quickly with an
+ * AnalysisCapacityException instead of competing for heap with running analyses.
+ * A reservation can grow while the analysis learns its real size (e.g. as a zip is
+ * extracted); growing never waits and fails the same way when the pool cannot cover it.
+ *
+ * Configuration (application.properties):
+ * - `knit.upload.memory-pool-bytes`: size of the pool (default 512 MB)
+ * - `knit.upload.memory-wait-millis`: how long a request may wait for budget (default 0)
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@Component
+public class AnalysisMemoryBudget {
+
+    /** Permits are counted in KiB so that large pools fit in an int */
+    private static final int PERMIT_BYTES = 1024;
+
+    private final Semaphore pool;
+    private final int poolPermits;
+    private final long waitMillis;
+
+    public AnalysisMemoryBudget(@Value("${knit.upload.memory-pool-bytes:536870912}") long poolBytes,
+                                @Value("${knit.upload.memory-wait-millis:0}") long waitMillis) {
+        this.poolPermits = toPermits(poolBytes);
+        this.pool = new Semaphore(poolPermits);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Reserves memory for one analysis. Close the reservation when the analysis is done.
+     *
+     * @param bytes number of bytes to reserve, capped at the pool size
+     * @return the reservation
+     * @throws AnalysisCapacityException if the budget is not available in time
+     */
+    public Reservation reserve(long bytes) {
+        int permits = Math.min(poolPermits, toPermits(bytes));
+        boolean acquired;
+        try {
+            acquired = pool.tryAcquire(permits, waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new AnalysisCapacityException("Analysis capacity exhausted, please retry later");
+        }
+        return new Reservation(permits);
+    }
+
+    /** Returns the number of bytes currently available in the pool */
+    public long availableBytes() {
+        return (long) pool.availablePermits() * PERMIT_BYTES;
+    }
+
+    private static int toPermits(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bytes + PERMIT_BYTES - 1) / PERMIT_BYTES));
+    }
+
+    /**
+     * A reservation from the pool; released exactly once on close.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private int permits;
+        private boolean released;
+
+        private Reservation(int permits) {
+            this.permits = permits;
+        }
+
+        /**
+         * Grows the reservation to at least the given number of bytes, capped at the pool size.
+         * Does not wait for other analyses to release memory.
+         *
+         * @param bytes number of bytes the analysis needs in total
+         * @throws AnalysisCapacityException if the pool cannot cover the additional bytes
+         */
+        public void ensure(long bytes) {
+            if (released) throw new IllegalStateException("Reservation already released");
+            int missing = Math.min(poolPermits, toPermits(bytes)) - permits;
+            if (missing <= 0) return;
+            if (!pool.tryAcquire(missing)) {
+                throw new AnalysisCapacityException("Analysis capacity exhausted, please retry later");
+            }
+            permits += missing;
+        }
+
+        /** Returns the number of bytes currently reserved */
+        public long getBytes() {
+            return (long) permits * PERMIT_BYTES;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            pool.release(permits);
+        }
+    }
+}
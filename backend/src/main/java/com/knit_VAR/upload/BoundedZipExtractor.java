@@ -0,0 +1,110 @@
+package com.knit_VAR.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * BoundedZipExtractor
+ *
+ * Extracts a zip stream into a directory while enforcing the UploadLimits.
+ * Every limit is checked while the data is being read, so a zip bomb is rejected after
+ * at most one buffer past the limit rather than after it has filled the disk.
+ *
+ * - Total uncompressed bytes, bytes per entry and number of entries are capped
+ * - The uncompressed to compressed ratio is checked per entry and for the whole archive
+ * - Entry names are normalized and must stay inside the target directory; entries that
+ *   normalize to the target directory itself (`./`) are skipped
+ * - The analysis memory reservation grows with the uncompressed bytes extracted so far, so an
+ *   upload fails as soon as the pool cannot cover the project it actually contains
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class BoundedZipExtractor {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private BoundedZipExtractor() {
+    }
+
+    /**
+     * Extracts the zip stream into the target directory.
+     *
+     * @param inputStream the zip stream
+     * @param targetDir the directory to extract into
+     * @param limits the limits to enforce
+     * @param reservation the memory reservation of the analysis, grown as bytes are extracted
+     * @throws UploadLimitExceededException if a limit is exceeded or an entry escapes the target directory
+     * @throws AnalysisCapacityException if the memory pool cannot cover the extracted bytes
+     */
+    public static void extract(InputStream inputStream, Path targetDir, UploadLimits limits,
+                               AnalysisMemoryBudget.Reservation reservation) throws IOException {
+        Path root = targetDir.toAbsolutePath().normalize();
+        // Counts the compressed bytes consumed; the compressed size itself is capped by the multipart limits
+        LimitedInputStream compressed = new LimitedInputStream(inputStream, Long.MAX_VALUE, "Upload");
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long totalBytes = 0;
+        int entries = 0;
+
+        try (ZipInputStream zis = new ZipInputStream(compressed)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (++entries > limits.getMaxEntries()) {
+                    throw new UploadLimitExceededException("Upload has more than " + limits.getMaxEntries() + " entries");
+                }
+
+                Path filePath = root.resolve(entry.getName()).normalize();
+                if (!filePath.startsWith(root)) {
+                    throw new UploadLimitExceededException("Upload entry escapes the project directory: " + entry.getName());
+                }
+                if (filePath.equals(root)) {
+                    // "./" entries, as written by bsdtar and other zip tools, name the target directory itself
+                    continue;
+                }
+
+                if (entry.isDirectory()) {
+                    Files.createDirectories(filePath);
+                    continue;
+                }
+
+                Files.createDirectories(filePath.getParent());
+                long entryBytes = 0;
+                long entryStart = compressed.getCount();
+                try (OutputStream out = Files.newOutputStream(filePath,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    int n;
+                    while ((n = zis.read(buffer)) > 0) {
+                        entryBytes += n;
+                        totalBytes += n;
+                        if (entryBytes > limits.getMaxEntryBytes()) {
+                            throw new UploadLimitExceededException("Upload entry " + entry.getName()
+                                    + " exceeds the limit of " + limits.getMaxEntryBytes() + " bytes");
+                        }
+                        if (totalBytes > limits.getMaxTotalBytes()) {
+                            throw new UploadLimitExceededException("Upload exceeds the limit of "
+                                    + limits.getMaxTotalBytes() + " uncompressed bytes");
+                        }
+                        checkRatio(entry.getName(), entryBytes, compressed.getCount() - entryStart, limits);
+                        checkRatio("Upload", totalBytes, compressed.getCount(), limits);
+                        reservation.ensure(limits.requestMemoryBytes(totalBytes));
+                        out.write(buffer, 0, n);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void checkRatio(String name, long uncompressed, long compressed, UploadLimits limits) {
+        if (uncompressed <= limits.getRatioCheckThresholdBytes()) return;
+        if (uncompressed / Math.max(1, compressed) > limits.getMaxCompressionRatio()) {
+            throw new UploadLimitExceededException(name + " exceeds the maximum compression ratio of "
+                    + limits.getMaxCompressionRatio());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.knit_VAR.upload;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * LimitedInputStream
+ *
+ * Input stream that fails with an UploadLimitExceededException as soon as more than
+ * a fixed number of bytes has been read, instead of after the whole input is buffered.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private final String description;
+    private long count;
+
+    /**
+     * @param in the stream to read from
+     * @param limit maximum number of bytes that may be read
+     * @param description what is being read, used in the error message
+     */
+    public LimitedInputStream(InputStream in, long limit, String description) {
+        super(in);
+        this.limit = limit;
+        this.description = description;
+    }
+
+    /** Returns the number of bytes read so far */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) consumed(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) consumed(n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        consumed(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void consumed(long n) {
+        count += n;
+        if (count > limit) {
+            throw new UploadLimitExceededException(description + " exceeds the limit of " + limit + " bytes");
+        }
+    }
+}
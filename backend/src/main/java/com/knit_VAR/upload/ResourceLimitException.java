@@ -0,0 +1,18 @@
+package com.knit_VAR.upload;
+
+/**
+ * ResourceLimitException
+ *
+ * Base class for rejections by the upload resource limits.
+ * These exceptions are not turned into analysis errors; they abort the request and are
+ * answered with an HTTP error status by the ResourceLimitExceptionHandler.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public abstract class ResourceLimitException extends RuntimeException {
+
+    protected ResourceLimitException(String message) {
+        super(message);
+    }
+}
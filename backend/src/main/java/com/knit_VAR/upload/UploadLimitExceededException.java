@@ -0,0 +1,18 @@
+package com.knit_VAR.upload;
+
+/**
+ * UploadLimitExceededException
+ *
+ * Thrown when an upload exceeds a size, entry count or compression ratio limit,
+ * or contains an entry that would be extracted outside of its target directory.
+ * Answered with 413 Content Too Large.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public class UploadLimitExceededException extends ResourceLimitException {
+
+    public UploadLimitExceededException(String message) {
+        super(message);
+    }
+}
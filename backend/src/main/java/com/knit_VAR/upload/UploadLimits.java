@@ -0,0 +1,73 @@
+package com.knit_VAR.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * UploadLimits
+ *
+ * Resource limits applied while reading uploads, configured in application.properties.
+ *
+ * - `knit.upload.max-total-bytes`: total uncompressed bytes a project zip may extract to
+ * - `knit.upload.max-entry-bytes`: uncompressed bytes of a single zip entry or uploaded .kt file
+ * - `knit.upload.max-entries`: number of entries in a project zip
+ * - `knit.upload.max-compression-ratio`: uncompressed to compressed ratio, checked once
+ *   an entry or the whole archive has produced more than `knit.upload.ratio-check-threshold-bytes`
+ * - `knit.upload.memory-per-upload-byte`, `knit.upload.min-request-memory-bytes` and
+ *   `knit.upload.max-request-memory-bytes`: how much of the analysis memory pool a request reserves
+ *   per uncompressed byte it analyzes; project uploads grow their reservation while the zip is
+ *   extracted (see BoundedZipExtractor), so a small zip of a large project pays for its real size
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@Component
+public class UploadLimits {
+
+    @Value("${knit.upload.max-total-bytes:209715200}")
+    private long maxTotalBytes;
+
+    @Value("${knit.upload.max-entry-bytes:10485760}")
+    private long maxEntryBytes;
+
+    @Value("${knit.upload.max-entries:20000}")
+    private int maxEntries;
+
+    @Value("${knit.upload.max-compression-ratio:100}")
+    private long maxCompressionRatio;
+
+    @Value("${knit.upload.ratio-check-threshold-bytes:1048576}")
+    private long ratioCheckThresholdBytes;
+
+    @Value("${knit.upload.memory-per-upload-byte:4}")
+    private long memoryPerUploadByte;
+
+    @Value("${knit.upload.min-request-memory-bytes:4194304}")
+    private long minRequestMemoryBytes;
+
+    @Value("${knit.upload.max-request-memory-bytes:134217728}")
+    private long maxRequestMemoryBytes;
+
+    public long getMaxTotalBytes() { return maxTotalBytes; }
+
+    public long getMaxEntryBytes() { return maxEntryBytes; }
+
+    public int getMaxEntries() { return maxEntries; }
+
+    public long getMaxCompressionRatio() { return maxCompressionRatio; }
+
+    public long getRatioCheckThresholdBytes() { return ratioCheckThresholdBytes; }
+
+    /**
+     * Returns the memory budget reserved for analyzing the given number of uncompressed bytes.
+     *
+     * @param uploadBytes uncompressed bytes of the upload read so far
+     * @return bytes to reserve from the analysis memory pool
+     */
+    public long requestMemoryBytes(long uploadBytes) {
+        long estimate = uploadBytes > maxRequestMemoryBytes / memoryPerUploadByte
+                ? maxRequestMemoryBytes
+                : uploadBytes * memoryPerUploadByte;
+        return Math.max(minRequestMemoryBytes, Math.min(maxRequestMemoryBytes, estimate));
+    }
+}
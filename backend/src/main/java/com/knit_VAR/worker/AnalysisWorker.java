@@ -0,0 +1,82 @@
+package com.knit_VAR.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.service.KotlinSourceScanner;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AnalysisWorker
+ *
+ * Entry point of an analysis worker JVM, started by the ShardCoordinator with
+ * `Application --worker`. The worker does not start Spring.
+ *
+ * Protocol (one JSON document per line, UTF-8):
+ * - reads a ShardRequest from standard input
+ * - scans the shard's Kotlin files with the KotlinSourceScanner
+ * - writes a ShardResult to standard output
+ *
+ * The worker exits when its standard input is closed. Diagnostics go to standard error
+ * so they never corrupt the protocol stream.
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public final class AnalysisWorker {
+
+    /** Command-line flag that switches Application.main into worker mode */
+    public static final String WORKER_FLAG = "--worker";
+
+    private AnalysisWorker() {
+    }
+
+    /**
+     * Runs the worker loop on the process's standard streams.
+     */
+    public static void run() throws IOException {
+        run(System.in, System.out);
+    }
+
+    /**
+     * Runs the worker loop until the input is closed.
+     *
+     * @param in stream of ShardRequest lines
+     * @param out stream receiving ShardResult lines
+     */
+    static void run(InputStream in, OutputStream out) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            ShardRequest request = mapper.readValue(line, ShardRequest.class);
+            writer.write(mapper.writeValueAsString(analyze(request)));
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * Scans all files of a shard, collecting per-file errors instead of failing the shard.
+     */
+    private static ShardResult analyze(ShardRequest request) {
+        List<ComponentScan> components = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (String file : request.files()) {
+            try {
+                ComponentScan scan = KotlinSourceScanner.scan(Path.of(file), request.module());
+                if (scan != null) components.add(scan);
+            } catch (IOException e) {
+                errors.add("Failed to analyze Kotlin file: " + file + " - " + e.getMessage());
+            }
+        }
+        return new ShardResult(request.module(), components, errors);
+    }
+}
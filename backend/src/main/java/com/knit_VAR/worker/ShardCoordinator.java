@@ -0,0 +1,265 @@
+package com.knit_VAR.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knit_VAR.Application;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ShardCoordinator
+ *
+ * Distributes the per-module scanning of a project across a pool of local worker JVMs,
+ * so that parsing large monorepos does not happen in the backend's own heap.
+ *
+ * - Workers are started on first use as `Application --worker` with the backend's classpath
+ * - Each shard (one Gradle module) is sent to an idle worker as a ShardRequest
+ * - A worker that crashes, returns garbage or exceeds the shard timeout is killed and
+ *   replaced, and the shard is retried on a fresh worker
+ * - A shard that still fails after the configured attempts is reported as an error;
+ *   all other shards of the run are kept
+ *
+ * Configuration (application.properties):
+ * - `knit.analysis.workers`: number of worker JVMs, 0 disables sharding (default 0)
+ * - `knit.analysis.shard-attempts`: attempts per shard before giving up (default 3)
+ * - `knit.analysis.shard-timeout-seconds`: time a worker may spend on one shard (default 300)
+ * - `knit.analysis.worker-jvm-options`: extra JVM options for workers, e.g. `-Xmx512m`
+ *
+ * Portions of this code may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+@Lazy
+@Component
+public class ShardCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardCoordinator.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${knit.analysis.workers:0}")
+    private int workerCount;
+
+    @Value("${knit.analysis.shard-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${knit.analysis.shard-timeout-seconds:300}")
+    private long shardTimeoutSeconds;
+
+    @Value("${knit.analysis.worker-jvm-options:}")
+    private String workerJvmOptions;
+
+    /** Idle workers ready to take a shard */
+    private BlockingQueue<WorkerProcess> idleWorkers;
+
+    /** Runs shard tasks on virtual threads; the idle worker queue bounds how many run at once */
+    private ExecutorService shardExecutor;
+
+    /** Guards starting and stopping the pool; a lock rather than synchronized so virtual threads never pin */
+    private final ReentrantLock poolLock = new ReentrantLock();
+
+    /** Kills workers that exceed the shard timeout */
+    private ScheduledExecutorService watchdog;
+
+    /**
+     * Returns true if analyses should be sharded across worker JVMs.
+     */
+    public boolean isEnabled() {
+        return workerCount > 0;
+    }
+
+    /**
+     * Scans the given shards on the worker pool.
+     *
+     * @param shards Kotlin files per Gradle module path
+     * @return one ShardResult per shard, in the iteration order of the given map
+     */
+    public List<ShardResult> analyze(Map<String, List<Path>> shards) {
+        startPool();
+
+        List<Future<ShardResult>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<Path>> shard : shards.entrySet()) {
+            List<String> files = shard.getValue().stream().map(path -> path.toAbsolutePath().toString()).toList();
+            ShardRequest request = new ShardRequest(shard.getKey(), files);
+            futures.add(shardExecutor.submit(() -> runShard(request)));
+        }
+
+        List<ShardResult> results = new ArrayList<>();
+        for (Future<ShardResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shard results", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Shard task failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs one shard, retrying on a fresh worker until it succeeds or the attempts run out.
+     */
+    private ShardResult runShard(ShardRequest request) throws InterruptedException {
+        String lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            WorkerProcess worker = idleWorkers.take();
+            try {
+                ShardResult result = worker.send(request);
+                idleWorkers.put(worker);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                lastError = e.getMessage();
+                logger.warn("Shard {} failed on attempt {}/{}, restarting worker", request.module(), attempt, maxAttempts, e);
+                worker.destroy();
+                idleWorkers.put(startWorkerOrPlaceholder());
+            }
+        }
+        return new ShardResult(request.module(), List.of(),
+                List.of("Failed to analyze module " + request.module() + " after " + maxAttempts + " attempts: " + lastError));
+    }
+
+    /**
+     * Starts the worker pool if it is not running yet.
+     */
+    private void startPool() {
+        poolLock.lock();
+        try {
+            if (idleWorkers != null) return;
+            watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "knit-shard-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            shardExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            idleWorkers = new ArrayBlockingQueue<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                idleWorkers.add(startWorkerOrPlaceholder());
+            }
+            logger.info("Started {} analysis workers", workerCount);
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a worker. If the process cannot be started, returns a placeholder whose
+     * first use fails, so the shard counts the attempt and a new start is tried.
+     */
+    private WorkerProcess startWorkerOrPlaceholder() {
+        try {
+            return new WorkerProcess(new ProcessBuilder(workerCommand())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+        } catch (IOException e) {
+            logger.error("Failed to start analysis worker", e);
+            return new WorkerProcess(null);
+        }
+    }
+
+    /**
+     * Builds the command line that starts Application in worker mode with this JVM's classpath.
+     */
+    private List<String> workerCommand() {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!workerJvmOptions.isBlank()) {
+            command.addAll(Arrays.asList(workerJvmOptions.trim().split("\\s+")));
+        }
+
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            // Packaged Spring Boot jar: let its launcher set up the nested classpath
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(Application.class.getName());
+        }
+        command.add(AnalysisWorker.WORKER_FLAG);
+        return command;
+    }
+
+    /**
+     * Stops all workers when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        poolLock.lock();
+        try {
+            if (idleWorkers == null) return;
+            shardExecutor.shutdownNow();
+            watchdog.shutdownNow();
+            List<WorkerProcess> workers = new ArrayList<>();
+            idleWorkers.drainTo(workers);
+            workers.forEach(WorkerProcess::destroy);
+            idleWorkers = null;
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    /**
+     * A running worker JVM and its protocol streams.
+     */
+    private final class WorkerProcess {
+
+        private final Process process;
+        private final BufferedReader reader;
+        private final Writer writer;
+
+        private WorkerProcess(Process process) {
+            this.process = process;
+            this.reader = process == null ? null
+                    : new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            this.writer = process == null ? null
+                    : new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Sends a shard and waits for its result. The watchdog kills the process if the shard
+         * takes too long, which makes the pending read fail.
+         */
+        private ShardResult send(ShardRequest request) throws IOException {
+            if (process == null || !process.isAlive()) {
+                throw new IOException("Worker is not running");
+            }
+            ScheduledFuture<?> timeout = watchdog.schedule(process::destroyForcibly, shardTimeoutSeconds, TimeUnit.SECONDS);
+            try {
+                writer.write(mapper.writeValueAsString(request));
+                writer.write('\n');
+                writer.flush();
+
+                String line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Worker exited with code " + process.waitFor());
+                }
+                ShardResult result = mapper.readValue(line, ShardResult.class);
+                if (!request.module().equals(result.module())) {
+                    throw new IOException("Worker answered for module " + result.module() + " instead of " + request.module());
+                }
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for worker", e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+
+        private void destroy() {
+            if (process != null) process.destroyForcibly();
+        }
+    }
+}
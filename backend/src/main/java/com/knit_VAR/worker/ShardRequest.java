@@ -0,0 +1,19 @@
+package com.knit_VAR.worker;
+
+import java.util.List;
+
+/**
+ * ShardRequest
+ *
+ * Message sent from the ShardCoordinator to an AnalysisWorker.
+ * Serialized as a single JSON line on the worker's standard input.
+ *
+ * Fields:
+ * - `module`: Gradle module path the shard covers
+ * - `files`: absolute paths of the Kotlin source files to scan
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record ShardRequest(String module, List<String> files) {
+}
@@ -0,0 +1,22 @@
+package com.knit_VAR.worker;
+
+import com.knit_VAR.model.ComponentScan;
+
+import java.util.List;
+
+/**
+ * ShardResult
+ *
+ * Message sent back from an AnalysisWorker for a ShardRequest.
+ * Serialized as a single JSON line on the worker's standard output.
+ *
+ * Fields:
+ * - `module`: Gradle module path the shard covers
+ * - `components`: components found in the shard's files
+ * - `errors`: per-file errors encountered while scanning
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+public record ShardResult(String module, List<ComponentScan> components, List<String> errors) {
+}
@@ -0,0 +1,175 @@
+package com.knit_VAR.buildmeta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BuildMetadataScannerTest
+ *
+ * Checks that BuildMetadataScanner collects the versioned declarations of every module in each
+ * supported notation, skips comments without being misled by comment markers inside strings,
+ * and that the resulting index reports version conflicts across modules.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class BuildMetadataScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void collectsStringMapAndPlatformNotation() throws IOException {
+        write("settings.gradle", "include ':app'");
+        write("app/build.gradle", """
+                dependencies {
+                    implementation 'com.google.code.gson:gson:2.10.1'
+                    api("com.squareup.okhttp3:okhttp:4.12.0")
+                    implementation group: 'io.reactivex.rxjava3', name: 'rxjava', version: '3.1.8'
+                    implementation(group = "org.slf4j", name = "slf4j-api", version = "2.0.9")
+                    implementation(platform("androidx.compose:compose-bom:2024.02.00"))
+                    testImplementation 'junit:junit:4.13.2'
+                    implementation "com.example:versioned:$exampleVersion"
+                    implementation project(':core')
+                }
+                """);
+
+        BuildMetadataIndex index = BuildMetadataScanner.scan(tempDir);
+
+        assertEquals(Set.of(
+                "com.google.code.gson:gson:2.10.1",
+                "com.squareup.okhttp3:okhttp:4.12.0",
+                "io.reactivex.rxjava3:rxjava:3.1.8",
+                "org.slf4j:slf4j-api:2.0.9",
+                "androidx.compose:compose-bom:2024.02.00",
+                "junit:junit:4.13.2"), declared(index, ":app"));
+    }
+
+    @Test
+    void resolvesCatalogAccessorsAndBundles() throws IOException {
+        write("settings.gradle.kts", "include(\":app\")");
+        write("gradle/libs.versions.toml", """
+                [versions]
+                okhttp = { strictly = "4.12.0" }
+
+                [libraries]
+                okhttp = { module = "com.squareup.okhttp3:okhttp", version.ref = "okhttp" }
+                logging = { module = "com.squareup.okhttp3:logging-interceptor", version.ref = "okhttp" }
+                core-ktx = "androidx.core:core-ktx:1.12.0"
+
+                [bundles]
+                network = ["okhttp", "logging"]
+                """);
+        write("app/build.gradle.kts", """
+                plugins {
+                    alias(libs.plugins.android.application)
+                }
+                android {
+                    compileSdk = libs.versions.compileSdk.get().toInt()
+                }
+                dependencies {
+                    implementation(libs.core.ktx)
+                    implementation(libs.bundles.network)
+                }
+                """);
+
+        BuildMetadataIndex index = BuildMetadataScanner.scan(tempDir);
+
+        assertEquals(Set.of(
+                "androidx.core:core-ktx:1.12.0",
+                "com.squareup.okhttp3:okhttp:4.12.0",
+                "com.squareup.okhttp3:logging-interceptor:4.12.0"), declared(index, ":app"));
+    }
+
+    @Test
+    void skipsCommentsButNotCommentMarkersInStrings() throws IOException {
+        write("settings.gradle.kts", "include(\":app\")");
+        write("app/build.gradle.kts", """
+                android {
+                    packaging {
+                        resources.excludes += "**/*.txt"
+                    }
+                }
+                repositories {
+                    maven { url = uri("https://jitpack.io") } // implementation("g:line-comment:1.0")
+                }
+                dependencies {
+                    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+                    /* implementation("g:block-comment:1.0")
+                       implementation("g:block-comment-2:1.0") */
+                    // implementation("g:line-comment-2:1.0")
+                    implementation("com.google.code.gson:gson:2.10.1")
+                }
+                tasks.withType<Jar> {
+                    exclude("**/R.class")
+                }
+                """);
+
+        BuildMetadataIndex index = BuildMetadataScanner.scan(tempDir);
+
+        assertEquals(Set.of(
+                "com.squareup.okhttp3:okhttp:4.12.0",
+                "com.google.code.gson:gson:2.10.1"), declared(index, ":app"));
+    }
+
+    @Test
+    void reportsConflictsAcrossModules() throws IOException {
+        write("settings.gradle.kts", "include(\":app\", \":core\", \":data\")");
+        write("build.gradle.kts", "");
+        write("app/build.gradle.kts", """
+                dependencies {
+                    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+                    implementation("com.google.code.gson:gson:2.10.1")
+                }
+                """);
+        write("core/build.gradle.kts", """
+                dependencies {
+                    api("com.squareup.okhttp3:okhttp:4.11.0")
+                    implementation("com.google.code.gson:gson:2.10.1")
+                }
+                """);
+        write("data/build.gradle.kts", """
+                dependencies {
+                    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+                }
+                """);
+
+        BuildMetadataIndex index = BuildMetadataScanner.scan(tempDir);
+        List<VersionConflict> conflicts = index.findConflicts();
+
+        assertEquals(Set.of(":", ":app", ":core", ":data"), index.getDependenciesByModule().keySet());
+        assertEquals(1, conflicts.size());
+        VersionConflict conflict = conflicts.get(0);
+        assertEquals("com.squareup.okhttp3:okhttp", conflict.coordinate());
+        assertEquals(Set.of(":app", ":data"), conflict.modulesByVersion().get("4.12.0"));
+        assertEquals(Set.of(":core"), conflict.modulesByVersion().get("4.11.0"));
+        assertEquals(Set.of(":app", ":core", ":data"), conflict.modules());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    /** Returns the declarations of a module as `group:artifact:version` strings */
+    private static Set<String> declared(BuildMetadataIndex index, String module) {
+        List<DeclaredDependency> dependencies = index.getDependenciesByModule().get(module);
+        assertNotNull(dependencies, "no declarations for " + module);
+        Set<String> declared = new HashSet<>();
+        for (DeclaredDependency dependency : dependencies) {
+            declared.add(dependency.coordinate() + ":" + dependency.version());
+        }
+        assertEquals(dependencies.size(), declared.size(), "duplicate declarations in " + module);
+        return declared;
+    }
+}
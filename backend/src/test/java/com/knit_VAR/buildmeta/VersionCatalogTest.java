@@ -0,0 +1,122 @@
+package com.knit_VAR.buildmeta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VersionCatalogTest
+ *
+ * Checks that VersionCatalog resolves library aliases and bundles in every supported
+ * `libs.versions.toml` form, including rich versions and multi-line bundles.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class VersionCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void nameIsTakenFromFileName() throws IOException {
+        VersionCatalog catalog = read("tools.versions.toml", "");
+
+        assertEquals("tools", catalog.getName());
+    }
+
+    @Test
+    void resolvesStringAndTableLibraries() throws IOException {
+        VersionCatalog catalog = read("libs.versions.toml", """
+                [versions]
+                okhttp = "4.12.0" # trailing comment
+                kotlin = "1.9.22"
+
+                [libraries]
+                gson = "com.google.code.gson:gson:2.10.1"
+                okhttp = { module = "com.squareup.okhttp3:okhttp", version.ref = "okhttp" }
+                kotlin-stdlib = { group = "org.jetbrains.kotlin", name = "kotlin-stdlib", version.ref = "kotlin" }
+                "retrofit" = { module = "com.squareup.retrofit2:retrofit", version = "2.9.0" }
+                """);
+
+        assertLibrary(catalog, "gson", "com.google.code.gson:gson", "2.10.1");
+        assertLibrary(catalog, "okhttp", "com.squareup.okhttp3:okhttp", "4.12.0");
+        assertLibrary(catalog, "retrofit", "com.squareup.retrofit2:retrofit", "2.9.0");
+        // accessors use dots where the alias uses dashes or underscores
+        assertLibrary(catalog, "kotlin.stdlib", "org.jetbrains.kotlin:kotlin-stdlib", "1.9.22");
+    }
+
+    @Test
+    void resolvesRichVersions() throws IOException {
+        VersionCatalog catalog = read("libs.versions.toml", """
+                [versions]
+                coroutines = { strictly = "1.7.3" }
+
+                [libraries]
+                coroutines-core = { module = "org.jetbrains.kotlinx:kotlinx-coroutines-core", version.ref = "coroutines" }
+                coroutines-android = { module = "org.jetbrains.kotlinx:kotlinx-coroutines-android", version = { ref = "coroutines" } }
+                timber = { module = "com.jakewharton.timber:timber", version = { require = "5.0.1", prefer = "5.0.1" } }
+                """);
+
+        assertLibrary(catalog, "coroutines.core", "org.jetbrains.kotlinx:kotlinx-coroutines-core", "1.7.3");
+        assertLibrary(catalog, "coroutines.android", "org.jetbrains.kotlinx:kotlinx-coroutines-android", "1.7.3");
+        assertLibrary(catalog, "timber", "com.jakewharton.timber:timber", "5.0.1");
+    }
+
+    @Test
+    void resolvesBundlesSpanningSeveralLines() throws IOException {
+        VersionCatalog catalog = read("libs.versions.toml", """
+                [libraries]
+                okhttp = "com.squareup.okhttp3:okhttp:4.12.0"
+                logging = "com.squareup.okhttp3:logging-interceptor:4.12.0"
+
+                [bundles]
+                network = [
+                    "okhttp",
+                    "logging", # comment inside the array
+                    "unknown",
+                ]
+                """);
+
+        List<String[]> bundle = catalog.resolve("bundles.network");
+
+        assertEquals(2, bundle.size());
+        assertEquals("com.squareup.okhttp3:okhttp", bundle.get(0)[0]);
+        assertEquals("com.squareup.okhttp3:logging-interceptor", bundle.get(1)[0]);
+    }
+
+    @Test
+    void ignoresUnversionedAndUnknownAliases() throws IOException {
+        VersionCatalog catalog = read("libs.versions.toml", """
+                [libraries]
+                compose-ui = { module = "androidx.compose.ui:ui" }
+                # gson = "com.google.code.gson:gson:2.10.1"
+
+                [plugins]
+                android = { id = "com.android.application", version = "8.2.0" }
+                """);
+
+        assertTrue(catalog.resolve("compose.ui").isEmpty());
+        assertTrue(catalog.resolve("gson").isEmpty());
+        assertTrue(catalog.resolve("android").isEmpty());
+    }
+
+    private VersionCatalog read(String fileName, String content) throws IOException {
+        Path file = tempDir.resolve(fileName);
+        Files.writeString(file, content);
+        return VersionCatalog.read(file);
+    }
+
+    private static void assertLibrary(VersionCatalog catalog, String accessor, String coordinate, String version) {
+        List<String[]> resolved = catalog.resolve(accessor);
+        assertEquals(1, resolved.size());
+        assertEquals(coordinate, resolved.get(0)[0]);
+        assertEquals(version, resolved.get(0)[1]);
+    }
+}
@@ -0,0 +1,94 @@
+package com.knit_VAR.history;
+
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.service.CompactGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GraphMetricsTest
+ *
+ * Checks the incremental GraphMetrics against metrics computed from scratch on a CompactGraph
+ * of the whole version, under random file additions, changes and deletions. Components are
+ * drawn from a small pool, so several files declare the same component and the same edges.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class GraphMetricsTest {
+
+    @Test
+    void matchesFullRecountUnderRandomChanges() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            int pool = 2 + random.nextInt(20);
+            Map<String, ComponentScan> files = new HashMap<>();
+            GraphMetrics metrics = new GraphMetrics();
+
+            for (int commit = 0; commit < 100; commit++) {
+                for (int change = random.nextInt(4); change >= 0; change--) {
+                    String path = "File" + random.nextInt(pool + 5) + ".kt";
+                    ComponentScan previous = files.get(path);
+                    ComponentScan next = random.nextInt(4) == 0 ? null : randomScan(random, pool);
+                    if (previous != null) metrics.remove(previous);
+                    if (next != null) metrics.add(next);
+                    if (next == null) files.remove(path);
+                    else files.put(path, next);
+                }
+                assertMetrics(files.values(), metrics);
+            }
+        }
+    }
+
+    @Test
+    void countsSelfLoopsAndSharedDeclarations() {
+        GraphMetrics metrics = new GraphMetrics();
+        ComponentScan self = new ComponentScan("A", List.of("A", "A"), null);
+        ComponentScan sameComponent = new ComponentScan("A", List.of("B"), null);
+        ComponentScan b = new ComponentScan("B", List.of("A"), null);
+
+        metrics.add(self);
+        assertEquals(1, metrics.components());
+        assertEquals(1, metrics.edges());
+        assertEquals(1, metrics.cycles());
+        assertEquals(0, metrics.unused());
+
+        metrics.add(sameComponent);
+        metrics.add(b);
+        assertEquals(2, metrics.components());
+        assertEquals(3, metrics.edges());
+        assertEquals(1, metrics.cycles());
+
+        metrics.remove(self);
+        metrics.remove(b);
+        assertEquals(1, metrics.components());
+        assertEquals(1, metrics.edges());
+        assertEquals(0, metrics.cycles());
+        assertEquals(1, metrics.unused());
+    }
+
+    private static ComponentScan randomScan(Random random, int pool) {
+        List<String> dependencies = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) dependencies.add("C" + random.nextInt(pool + 3));
+        return new ComponentScan("C" + random.nextInt(pool), dependencies, null);
+    }
+
+    private static void assertMetrics(Collection<ComponentScan> files, GraphMetrics metrics) {
+        CompactGraph.Builder builder = CompactGraph.builder();
+        files.forEach(builder::add);
+        CompactGraph graph = builder.build();
+        boolean[] targeted = graph.targeted();
+        int unused = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            if (graph.isComponent(node) && !targeted[node]) unused++;
+        }
+
+        assertEquals(graph.componentCount(), metrics.components());
+        assertEquals(graph.edgeCount(), metrics.edges());
+        assertEquals(graph.countCycles(), metrics.cycles());
+        assertEquals(unused, metrics.unused());
+    }
+}
@@ -0,0 +1,84 @@
+package com.knit_VAR.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PersistentMapTest
+ *
+ * Checks PersistentMap against HashMap under random updates, including keys with colliding
+ * hash codes, and checks that earlier versions are never modified.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class PersistentMapTest {
+
+    /** Key whose hash code is shared by many keys, to exercise collision nodes */
+    private record CollidingKey(int id) {
+        @Override
+        public int hashCode() {
+            return id % 7;
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            PersistentMap<Object, Integer> map = PersistentMap.empty();
+            Map<Object, Integer> expected = new HashMap<>();
+            int keyRange = 1 + random.nextInt(500);
+
+            for (int op = 0; op < 1000; op++) {
+                Object key = random.nextBoolean() ? (Object) random.nextInt(keyRange) : new CollidingKey(random.nextInt(keyRange));
+                if (random.nextInt(3) == 0) {
+                    map = map.minus(key);
+                    expected.remove(key);
+                } else {
+                    int value = random.nextInt(10);
+                    map = map.plus(key, value);
+                    expected.put(key, value);
+                }
+                assertEquals(expected.size(), map.size());
+            }
+
+            for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            Map<Object, Integer> iterated = new HashMap<>();
+            map.forEach(iterated::put);
+            assertEquals(expected, iterated);
+        }
+    }
+
+    @Test
+    void earlierVersionsAreUnchanged() {
+        PersistentMap<String, Integer> first = PersistentMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+        PersistentMap<String, Integer> second = first.plus("a", 3).minus("b").plus("c", 4);
+
+        assertEquals(2, first.size());
+        assertEquals(1, first.get("a"));
+        assertEquals(2, first.get("b"));
+        assertNull(first.get("c"));
+
+        assertEquals(2, second.size());
+        assertEquals(3, second.get("a"));
+        assertNull(second.get("b"));
+        assertEquals(4, second.get("c"));
+    }
+
+    @Test
+    void unchangedMapIsReturnedAsIs() {
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().plus("a", 1);
+
+        assertSame(map, map.plus("a", 1));
+        assertSame(map, map.minus("missing"));
+        assertSame(PersistentMap.empty(), map.minus("a"));
+    }
+}
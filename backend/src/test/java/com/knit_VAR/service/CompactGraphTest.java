@@ -0,0 +1,154 @@
+package com.knit_VAR.service;
+
+import com.knit_VAR.model.ComponentScan;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactGraphTest
+ *
+ * Checks the cycle, layer and unused passes of CompactGraph against a brute-force reachability
+ * oracle on random graphs, the handling of self-loops and of components reported twice, and
+ * that deep dependency chains do not overflow the stack.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class CompactGraphTest {
+
+    @Test
+    void matchesReachabilityOracleOnRandomGraphs() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            int components = 1 + random.nextInt(25);
+            CompactGraph.Builder builder = CompactGraph.builder();
+            for (int i = 0; i < components; i++) {
+                List<String> dependencies = new ArrayList<>();
+                // Targets beyond the components are dependencies that are never declared
+                for (int d = random.nextInt(4); d > 0; d--) dependencies.add("C" + random.nextInt(components + 3));
+                builder.add(new ComponentScan("C" + i, dependencies, ":"));
+            }
+            assertMatchesOracle(builder.build());
+        }
+    }
+
+    @Test
+    void numbersNodesInIdOrderWhateverTheInsertionOrder() {
+        CompactGraph first = CompactGraph.builder()
+                .add(new ComponentScan("B", List.of("C", "A"), ":b"))
+                .add(new ComponentScan("A", List.of("B"), ":a"))
+                .build();
+        CompactGraph second = CompactGraph.builder()
+                .add(new ComponentScan("A", List.of("B"), ":a"))
+                .add(new ComponentScan("B", List.of("A", "C"), ":b"))
+                .build();
+
+        for (CompactGraph graph : List.of(first, second)) {
+            assertEquals(List.of("A", "B", "C"), List.of(graph.id(0), graph.id(1), graph.id(2)));
+            assertEquals(":a", graph.module(0));
+            assertFalse(graph.isComponent(2));
+            assertArrayEquals(new int[]{0, 0, -1}, graph.cycles());
+        }
+    }
+
+    @Test
+    void keepsSelfLoopsAndDropsDuplicateEdgesFromTwoShards() {
+        // The same component reported by two shards, with a self-loop and a repeated dependency
+        CompactGraph graph = CompactGraph.builder()
+                .add(new ComponentScan("A", List.of("A", "B", "B"), ":app"))
+                .add(new ComponentScan("B", List.of(), ":core"))
+                .add(new ComponentScan("A", List.of("B", "A"), ":other"))
+                .build();
+
+        assertEquals(2, graph.size());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(":app", graph.module(0));
+        assertArrayEquals(new int[]{0, -1}, graph.cycles());
+        assertEquals(1, graph.countCycles());
+        assertArrayEquals(new int[]{1, 0}, graph.layers());
+        assertArrayEquals(new boolean[]{true, true}, graph.targeted());
+    }
+
+    @Test
+    void handlesDeepChainsWithoutRecursion() {
+        int length = 1_000_000;
+        CompactGraph.Builder chain = CompactGraph.builder();
+        CompactGraph.Builder ring = CompactGraph.builder();
+        for (int i = 0; i < length; i++) {
+            String next = name((i + 1) % length);
+            chain.add(new ComponentScan(name(i), i + 1 < length ? List.of(next) : List.of(), ":"));
+            ring.add(new ComponentScan(name(i), List.of(next), ":"));
+        }
+
+        CompactGraph chainGraph = chain.build();
+        assertEquals(0, chainGraph.countCycles());
+        assertEquals(length - 1, chainGraph.layers()[0]);
+        assertEquals(0, chainGraph.layers()[length - 1]);
+
+        CompactGraph ringGraph = ring.build();
+        int[] cycles = ringGraph.cycles();
+        assertEquals(1, ringGraph.countCycles());
+        assertEquals(0, cycles[0]);
+        assertEquals(0, cycles[length - 1]);
+    }
+
+    /** Compares cycles, layers and targeted nodes with brute-force reachability */
+    private static void assertMatchesOracle(CompactGraph graph) {
+        int n = graph.size();
+        boolean[][] reaches = new boolean[n][n];
+        for (int source = 0; source < n; source++) {
+            Deque<Integer> pending = new ArrayDeque<>(List.of(source));
+            while (!pending.isEmpty()) {
+                int node = pending.pop();
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int target = graph.target(edge);
+                    if (!reaches[source][target]) {
+                        reaches[source][target] = true;
+                        pending.push(target);
+                    }
+                }
+            }
+        }
+
+        int[] cycles = graph.cycles();
+        Set<Integer> cycleNumbers = new HashSet<>();
+        for (int a = 0; a < n; a++) {
+            assertEquals(reaches[a][a], cycles[a] >= 0, "cycle membership of " + graph.id(a));
+            if (cycles[a] >= 0) cycleNumbers.add(cycles[a]);
+            for (int b = 0; b < n; b++) {
+                boolean sameCycle = cycles[a] >= 0 && cycles[a] == cycles[b];
+                assertEquals(a != b && reaches[a][b] && reaches[b][a] || a == b && reaches[a][a], sameCycle,
+                        "cycle of " + graph.id(a) + " and " + graph.id(b));
+            }
+        }
+        assertEquals(cycleNumbers.size(), graph.countCycles());
+
+        // Longest chain of dependencies outside the node's own cycle, by repeated relaxation
+        int[] expectedLayers = new int[n];
+        for (int pass = 0; pass <= n; pass++) {
+            for (int node = 0; node < n; node++) {
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int target = graph.target(edge);
+                    if (!reaches[target][node]) expectedLayers[node] = Math.max(expectedLayers[node], expectedLayers[target] + 1);
+                }
+                for (int other = 0; other < n; other++) {
+                    if (reaches[node][other] && reaches[other][node]) {
+                        expectedLayers[node] = Math.max(expectedLayers[node], expectedLayers[other]);
+                    }
+                }
+            }
+        }
+        assertArrayEquals(expectedLayers, graph.layers());
+
+        boolean[] expectedTargeted = new boolean[n];
+        for (int edge = 0; edge < graph.edgeCount(); edge++) expectedTargeted[graph.target(edge)] = true;
+        assertArrayEquals(expectedTargeted, graph.targeted());
+    }
+
+    private static String name(int i) {
+        return String.format("N%07d", i);
+    }
+}
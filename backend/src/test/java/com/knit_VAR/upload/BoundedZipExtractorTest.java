@@ -0,0 +1,183 @@
+package com.knit_VAR.upload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoundedZipExtractorTest
+ *
+ * Checks that project zips are extracted within the UploadLimits: entries must stay inside the
+ * target directory, size, entry count and compression ratio limits reject the upload, and the
+ * memory reservation grows with the extracted bytes.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class BoundedZipExtractorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extractsEntriesAndSkipsCurrentDirectoryEntry() throws IOException {
+        byte[] zip = zip(new String[]{"./", ""}, new String[]{"./app/", ""},
+                new String[]{"./app/Main.kt", "class Main"}, new String[]{"settings.gradle.kts", "include(\":app\")"});
+
+        Path target = extract(zip, limits(10 * MB, MB, 10));
+
+        assertEquals("class Main", Files.readString(target.resolve("app/Main.kt")));
+        assertEquals("include(\":app\")", Files.readString(target.resolve("settings.gradle.kts")));
+    }
+
+    @Test
+    void rejectsPathTraversal() throws IOException {
+        byte[] zip = zip(new String[]{"src/../../evil.kt", "class Evil"});
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class,
+                () -> extract(zip, limits(10 * MB, MB, 10)));
+
+        assertTrue(e.getMessage().contains("escapes the project directory"));
+        assertFalse(Files.exists(tempDir.resolve("evil.kt")));
+    }
+
+    @Test
+    void rejectsAbsolutePath() throws IOException {
+        Path outside = tempDir.resolve("absolute.kt").toAbsolutePath();
+        byte[] zip = zip(new String[]{outside.toString(), "class Evil"});
+
+        assertThrows(UploadLimitExceededException.class, () -> extract(zip, limits(10 * MB, MB, 10)));
+        assertFalse(Files.exists(outside));
+    }
+
+    @Test
+    void rejectsZipBombByCompressionRatio() throws IOException {
+        // 5 MB of zeros deflate to a few KB, far beyond the ratio of 100
+        byte[] zip = zip(new String[]{"bomb.kt", "\0".repeat((int) (5 * MB))});
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class,
+                () -> extract(zip, limits(100 * MB, 100 * MB, 10)));
+
+        assertTrue(e.getMessage().contains("compression ratio"), e.getMessage());
+    }
+
+    @Test
+    void rejectsEntryAboveEntryLimit() throws IOException {
+        byte[] zip = zip(new String[]{"Big.kt", "x".repeat(2048)});
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class,
+                () -> extract(zip, limits(MB, 1024, 10)));
+
+        assertTrue(e.getMessage().contains("Big.kt"), e.getMessage());
+    }
+
+    @Test
+    void rejectsUploadAboveTotalLimit() throws IOException {
+        byte[] zip = zip(new String[]{"A.kt", "a".repeat(800)}, new String[]{"B.kt", "b".repeat(800)});
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class,
+                () -> extract(zip, limits(1024, 1024, 10)));
+
+        assertTrue(e.getMessage().contains("uncompressed bytes"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTooManyEntries() throws IOException {
+        byte[] zip = zip(new String[]{"A.kt", "a"}, new String[]{"B.kt", "b"}, new String[]{"C.kt", "c"});
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class,
+                () -> extract(zip, limits(MB, MB, 2)));
+
+        assertTrue(e.getMessage().contains("entries"), e.getMessage());
+    }
+
+    @Test
+    void growsReservationWithExtractedBytes() throws IOException {
+        byte[] zip = zip(new String[]{"A.kt", randomText(3 * MB)});
+        AnalysisMemoryBudget budget = new AnalysisMemoryBudget(64 * MB, 0);
+
+        try (AnalysisMemoryBudget.Reservation reservation = budget.reserve(MB)) {
+            extract(zip, limits(10 * MB, 10 * MB, 10), reservation);
+
+            // 3 MB extracted at 4 bytes of analysis memory per byte
+            assertEquals(12 * MB, reservation.getBytes());
+            assertEquals(52 * MB, budget.availableBytes());
+        }
+        assertEquals(64 * MB, budget.availableBytes());
+    }
+
+    @Test
+    void rejectsUploadWhenPoolCannotCoverExtractedBytes() throws IOException {
+        // The reservation made for the zip is not enough for the project it contains,
+        // and another analysis holds half of the pool
+        byte[] zip = zip(new String[]{"A.kt", randomText(3 * MB)});
+        AnalysisMemoryBudget budget = new AnalysisMemoryBudget(16 * MB, 0);
+
+        try (AnalysisMemoryBudget.Reservation other = budget.reserve(8 * MB);
+             AnalysisMemoryBudget.Reservation reservation = budget.reserve(MB)) {
+            assertThrows(AnalysisCapacityException.class,
+                    () -> extract(zip, limits(10 * MB, 10 * MB, 10), reservation));
+        }
+        assertEquals(16 * MB, budget.availableBytes());
+    }
+
+    private Path extract(byte[] zip, UploadLimits limits) throws IOException {
+        try (AnalysisMemoryBudget.Reservation reservation = new AnalysisMemoryBudget(1024 * MB, 0).reserve(0)) {
+            return extract(zip, limits, reservation);
+        }
+    }
+
+    private Path extract(byte[] zip, UploadLimits limits, AnalysisMemoryBudget.Reservation reservation) throws IOException {
+        Path target = Files.createDirectories(tempDir.resolve("project"));
+        BoundedZipExtractor.extract(new ByteArrayInputStream(zip), target, limits, reservation);
+        return target;
+    }
+
+    private static UploadLimits limits(long maxTotalBytes, long maxEntryBytes, int maxEntries) {
+        UploadLimits limits = new UploadLimits();
+        ReflectionTestUtils.setField(limits, "maxTotalBytes", maxTotalBytes);
+        ReflectionTestUtils.setField(limits, "maxEntryBytes", maxEntryBytes);
+        ReflectionTestUtils.setField(limits, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(limits, "maxCompressionRatio", 100L);
+        ReflectionTestUtils.setField(limits, "ratioCheckThresholdBytes", MB);
+        ReflectionTestUtils.setField(limits, "memoryPerUploadByte", 4L);
+        ReflectionTestUtils.setField(limits, "minRequestMemoryBytes", MB);
+        ReflectionTestUtils.setField(limits, "maxRequestMemoryBytes", 1024 * MB);
+        return limits;
+    }
+
+    /** Returns text that does not compress well, so it stays below the compression ratio limit */
+    private static String randomText(long length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder((int) length);
+        for (long i = 0; i < length; i++) text.append((char) ('a' + random.nextInt(26)));
+        return text.toString();
+    }
+
+    /** Builds a zip from name and content pairs; names ending in `/` are directories */
+    private static byte[] zip(String[]... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String[] entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry[0]));
+                zip.write(entry[1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.knit_VAR.upload;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LimitedInputStreamTest
+ *
+ * Checks that LimitedInputStream counts every read and fails as soon as the limit is passed.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class LimitedInputStreamTest {
+
+    @Test
+    void readsInputUpToTheLimit() throws IOException {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[10]), 10, "File");
+
+        assertEquals(10, in.readAllBytes().length);
+        assertEquals(10, in.getCount());
+    }
+
+    @Test
+    void failsWhenBulkReadsPassTheLimit() {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[11]), 10, "File");
+
+        UploadLimitExceededException e = assertThrows(UploadLimitExceededException.class, in::readAllBytes);
+        assertTrue(e.getMessage().startsWith("File exceeds the limit of 10 bytes"), e.getMessage());
+    }
+
+    @Test
+    void failsWhenSingleByteReadsPassTheLimit() throws IOException {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[3]), 2, "File");
+
+        in.read();
+        in.read();
+        assertThrows(UploadLimitExceededException.class, in::read);
+    }
+
+    @Test
+    void countsSkippedBytes() throws IOException {
+        LimitedInputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[20]), 10, "File");
+
+        assertEquals(5, in.skip(5));
+        assertEquals(5, in.getCount());
+        assertThrows(UploadLimitExceededException.class, () -> in.skip(10));
+    }
+}
@@ -0,0 +1,85 @@
+package com.knit_VAR.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knit_VAR.model.ComponentScan;
+import com.knit_VAR.service.CompactGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AnalysisWorkerTest
+ *
+ * Runs the worker protocol in process: ShardRequest lines in, one ShardResult line out per
+ * request, with per-file errors reported in the result. The results of two shards that both
+ * scan a shared file are merged into a CompactGraph, as the ShardCoordinator's caller does.
+ *
+ * Portions of this file may have been assisted by GitHub Copilot.
+ * All code has been reviewed and manually verified by the author.
+ */
+class AnalysisWorkerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void answersEveryShardRequestWithItsResult() throws IOException {
+        Path a = write("A.kt", "@Provides class A(", "    private val B by di", ")");
+        Path b = write("B.kt", "@Provides class B(", "    private val A by di", "    private val B by di", ")");
+        Path plain = write("Plain.kt", "class Plain");
+        Path missing = tempDir.resolve("Missing.kt");
+
+        List<ShardResult> results = run(
+                new ShardRequest(":app", List.of(a.toString(), plain.toString())),
+                new ShardRequest(":core", List.of(a.toString(), b.toString(), missing.toString())));
+
+        assertEquals(2, results.size());
+        assertEquals(":app", results.get(0).module());
+        assertEquals(List.of(new ComponentScan("A", List.of("B"), ":app")), results.get(0).components());
+        assertTrue(results.get(0).errors().isEmpty());
+
+        assertEquals(":core", results.get(1).module());
+        assertEquals(List.of(new ComponentScan("A", List.of("B"), ":core"), new ComponentScan("B", List.of("A", "B"), ":core")),
+                results.get(1).components());
+        assertEquals(1, results.get(1).errors().size());
+        assertTrue(results.get(1).errors().get(0).contains("Missing.kt"), results.get(1).errors().get(0));
+
+        CompactGraph.Builder builder = CompactGraph.builder();
+        results.forEach(result -> result.components().forEach(builder::add));
+        CompactGraph graph = builder.build();
+        assertEquals(2, graph.size());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(":app", graph.module(0));
+        assertArrayEquals(new int[]{0, 0}, graph.cycles());
+    }
+
+    private List<ShardResult> run(ShardRequest... requests) throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (ShardRequest request : requests) input.append(mapper.writeValueAsString(request)).append("\n\n");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        AnalysisWorker.run(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        List<ShardResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(mapper.readValue(line, ShardResult.class));
+        }
+        return results;
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(tempDir.resolve(name), List.of(lines));
+    }
+}